@@ -0,0 +1,37 @@
+package org.example.tourplannerbackend.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Spring cache names (regions declared in ehcache.xml)
+    public static final String TOUR_LOG_SUMMARIES = "tourLogSummaries";
+
+    /**
+     * Let Hibernate's second-level cache use the same JCache manager as Spring,
+     * so all regions come from ehcache.xml and show up in the actuator cache metrics
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSecondLevelCacheCustomizer(CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    /**
+     * Defer cache puts and evictions to after commit, so a concurrent reader
+     * cannot re-cache data from a transaction that has not committed yet
+     */
+    @Bean
+    public CacheManagerCustomizer<JCacheCacheManager> transactionAwareCacheCustomizer() {
+        return cacheManager -> cacheManager.setTransactionAware(true);
+    }
+}
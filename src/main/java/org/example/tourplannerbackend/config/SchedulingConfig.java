@@ -0,0 +1,10 @@
+package org.example.tourplannerbackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled maintenance jobs (e.g. the nightly rollup rebuild)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,53 @@
+package org.example.tourplannerbackend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Moves the ID sequences past the highest existing ID on PostgreSQL.
+ * Databases created while IDs were IDENTITY columns get fresh sequences starting at 1,
+ * which would otherwise collide with existing rows.
+ * Runs after the EntityManagerFactory (and thus the schema update) and before requests are served.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceAligner {
+
+    private static final int ALLOCATION_SIZE = 50; // must match @SequenceGenerator allocationSize
+
+    private final EntityManagerFactory entityManagerFactory; // injected only to run after the schema update
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequences() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if (!"PostgreSQL".equals(product)) {
+                return;
+            }
+            align("tours_seq", "tours");
+            align("tour_logs_seq", "tour_logs");
+        } catch (Exception e) {
+            log.warn("Could not align ID sequences: {}", e.getMessage());
+        }
+    }
+
+    private void align(String sequence, String table) {
+        // Never moves a sequence backwards; the pooled optimizer hands out (value - 50, value]
+        Long value = jdbcTemplate.queryForObject(
+                "SELECT setval('" + sequence + "', GREATEST(nextval('" + sequence + "'), " +
+                        "(SELECT COALESCE(MAX(id), 0) + " + ALLOCATION_SIZE + " FROM " + table + ")), false)",
+                Long.class);
+        log.info("Sequence {} aligned, next value {}", sequence, value);
+    }
+}
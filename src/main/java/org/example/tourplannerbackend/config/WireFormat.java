@@ -0,0 +1,70 @@
+package org.example.tourplannerbackend.config;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+import java.util.Locale;
+
+// Serialization formats offered through content negotiation: JSON plus the binary Jackson formats
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON, "json"),
+    SMILE(new MediaType("application", "x-jackson-smile"), "smile"),
+    CBOR(MediaType.APPLICATION_CBOR, "cbor");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    WireFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Best format for an Accept header (by quality, then order); JSON if none or nothing specific is accepted
+     */
+    public static WireFormat fromAcceptHeader(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(mediaTypes); // quality first for media types
+            for (MediaType mediaType : mediaTypes) {
+                for (WireFormat format : values()) {
+                    if (mediaType.isConcrete() && mediaType.isCompatibleWith(format.mediaType)) {
+                        return format;
+                    }
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Fall back to JSON like for */*
+        }
+        return JSON;
+    }
+
+    /**
+     * Format of an uploaded file by its extension, or null if it is not one of ours
+     */
+    public static WireFormat fromFilename(String filename) {
+        if (filename == null) {
+            return null;
+        }
+        String lower = filename.toLowerCase(Locale.ROOT);
+        for (WireFormat format : values()) {
+            if (lower.endsWith("." + format.fileExtension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.tourplannerbackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Map;
+
+/**
+ * Smile and CBOR next to JSON: every endpoint that returns or accepts objects negotiates the format
+ * through the Accept / Content-Type header. All formats share the spring.jackson.* settings.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public WireFormats wireFormats(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper smileMapper = builder.factory(new SmileFactory()).build();
+        ObjectMapper cborMapper = builder.factory(new CBORFactory()).build();
+        return new WireFormats(Map.of(
+                WireFormat.JSON, objectMapper,
+                WireFormat.SMILE, smileMapper,
+                WireFormat.CBOR, cborMapper));
+    }
+
+    // Picked up by Spring Boot's HttpMessageConverters ahead of the defaults
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(WireFormats wireFormats) {
+        return new MappingJackson2SmileHttpMessageConverter(wireFormats.mapper(WireFormat.SMILE));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(WireFormats wireFormats) {
+        return new MappingJackson2CborHttpMessageConverter(wireFormats.mapper(WireFormat.CBOR));
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.tourplannerbackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Shared, preconfigured mappers, readers and writers per wire format.
+ * Mappers are expensive to create and cache serializers internally, readers and writers are immutable
+ * and thread safe, so one instance of each serves the whole application.
+ */
+public class WireFormats {
+
+    private final Map<WireFormat, ObjectMapper> mappers;
+    private final Map<WireFormat, ObjectReader> readers = new EnumMap<>(WireFormat.class);
+    private final Map<WireFormat, ObjectWriter> writers = new EnumMap<>(WireFormat.class);
+
+    public WireFormats(Map<WireFormat, ObjectMapper> mappers) {
+        this.mappers = new EnumMap<>(mappers);
+        this.mappers.forEach((format, mapper) -> {
+            readers.put(format, mapper.reader());
+            writers.put(format, mapper.writer());
+        });
+    }
+
+    public ObjectMapper mapper(WireFormat format) {
+        return mappers.get(format);
+    }
+
+    public ObjectReader reader(WireFormat format) {
+        return readers.get(format);
+    }
+
+    public ObjectWriter writer(WireFormat format) {
+        return writers.get(format);
+    }
+}
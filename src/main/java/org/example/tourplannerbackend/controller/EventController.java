@@ -0,0 +1,27 @@
+package org.example.tourplannerbackend.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.service.ChangeFeedService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*") // For frontend integration
+public class EventController {
+
+    private final ChangeFeedService changeFeedService;
+
+    /**
+     * Subscribe to tour and log change events (Server-Sent Events)
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        log.info("GET /api/events - New change feed subscriber ({} active)", changeFeedService.getSubscriberCount());
+        return changeFeedService.subscribe();
+    }
+}
@@ -2,6 +2,9 @@ package org.example.tourplannerbackend.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.config.WireFormat;
+import org.example.tourplannerbackend.dto.ImportResultDto;
+import org.example.tourplannerbackend.exception.BadRequestException;
 import org.example.tourplannerbackend.service.ImportExportService;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -9,6 +12,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/import-export")
@@ -18,24 +22,20 @@ import org.springframework.web.multipart.MultipartFile;
 public class ImportExportController {
 
     private final ImportExportService importExportService;
+    private final NdjsonStreamer ndjsonStreamer;
 
     /**
-     * Export all tours to JSON format
+     * Export all tours to JSON format (Smile or CBOR when requested via Accept)
      * Must-Have: Import/Export functionality
      */
     @GetMapping("/export/tours")
-    public ResponseEntity<byte[]> exportTours() {
+    public ResponseEntity<byte[]> exportTours(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("GET /api/import-export/export/tours - Exporting all tours");
 
         try {
-            byte[] jsonBytes = importExportService.exportToursToJson();
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setContentDispositionFormData("attachment", "tours_export.json");
-            headers.setContentLength(jsonBytes.length);
-
-            return new ResponseEntity<>(jsonBytes, headers, HttpStatus.OK);
+            WireFormat format = WireFormat.fromAcceptHeader(accept);
+            byte[] exportBytes = importExportService.exportTours(format);
+            return exportResponse(exportBytes, format, "tours_export");
 
         } catch (Exception e) {
             log.error("Error exporting tours: {}", e.getMessage());
@@ -44,21 +44,17 @@ public class ImportExportController {
     }
 
     /**
-     * Export specific tour with logs to JSON
+     * Export specific tour with logs to JSON (Smile or CBOR when requested via Accept)
      */
     @GetMapping("/export/tour/{tourId}")
-    public ResponseEntity<byte[]> exportTour(@PathVariable Long tourId) {
+    public ResponseEntity<byte[]> exportTour(@PathVariable Long tourId,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("GET /api/import-export/export/tour/{} - Exporting single tour", tourId);
 
         try {
-            byte[] jsonBytes = importExportService.exportTourToJson(tourId);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setContentDispositionFormData("attachment", "tour_" + tourId + "_export.json");
-            headers.setContentLength(jsonBytes.length);
-
-            return new ResponseEntity<>(jsonBytes, headers, HttpStatus.OK);
+            WireFormat format = WireFormat.fromAcceptHeader(accept);
+            byte[] exportBytes = importExportService.exportTour(tourId, format);
+            return exportResponse(exportBytes, format, "tour_" + tourId + "_export");
 
         } catch (Exception e) {
             log.error("Error exporting tour {}: {}", tourId, e.getMessage());
@@ -67,33 +63,30 @@ public class ImportExportController {
     }
 
     /**
-     * Import tours from JSON file
+     * Import tours from a JSON file (or a .smile / .cbor export)
      * Must-Have: Import/Export functionality
+     * Returns the counts and the records that were skipped, by their position in the file
      */
     @PostMapping("/import/tours")
-    public ResponseEntity<String> importTours(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<ImportResultDto> importTours(@RequestParam("file") MultipartFile file) {
         log.info("POST /api/import-export/import/tours - Importing tours from file: {}", file.getOriginalFilename());
 
-        if (file.isEmpty()) {
-            return ResponseEntity.badRequest().body("File is empty");
-        }
-
-        if (!file.getOriginalFilename().endsWith(".json")) {
-            return ResponseEntity.badRequest().body("Only JSON files are supported");
-        }
-
-        try {
-            int importedCount = importExportService.importToursFromJson(file);
-            String message = String.format("Successfully imported %d tours", importedCount);
+        ImportResultDto result = importExportService.importTours(file, importFormat(file));
+        log.info("Import completed: {} of {} tours imported", result.getImported(), result.getProcessed());
+        return ResponseEntity.ok(result);
+    }
 
-            log.info("Import completed: {}", message);
-            return ResponseEntity.ok(message);
+    /**
+     * Import tours with progress (Accept: application/x-ndjson)
+     * One progress line per committed batch, the last line is the complete result
+     */
+    @PostMapping(value = "/import/tours", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamImportTours(@RequestParam("file") MultipartFile file) {
+        log.info("POST /api/import-export/import/tours - Importing tours with progress from file: {}", file.getOriginalFilename());
 
-        } catch (Exception e) {
-            log.error("Error importing tours: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Failed to import tours: " + e.getMessage());
-        }
+        WireFormat format = importFormat(file);
+        return ndjsonStreamer.<ImportResultDto>streamEachLine(
+                consumer -> consumer.accept(importExportService.importTours(file, format, consumer)));
     }
 
     /**
@@ -118,4 +111,25 @@ public class ImportExportController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+
+    private WireFormat importFormat(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new BadRequestException("File is empty");
+        }
+        WireFormat format = WireFormat.fromFilename(file.getOriginalFilename());
+        if (format == null) {
+            throw new BadRequestException("Only JSON, Smile and CBOR files are supported");
+        }
+        return format;
+    }
+
+    private ResponseEntity<byte[]> exportResponse(byte[] exportBytes, WireFormat format, String baseName) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format.getMediaType());
+        headers.setContentDispositionFormData("attachment", baseName + "." + format.getFileExtension());
+        headers.setContentLength(exportBytes.length);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        return new ResponseEntity<>(exportBytes, headers, HttpStatus.OK);
+    }
+}
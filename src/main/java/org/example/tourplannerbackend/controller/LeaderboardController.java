@@ -0,0 +1,33 @@
+package org.example.tourplannerbackend.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.dto.LeaderboardEntryDto;
+import org.example.tourplannerbackend.service.LeaderboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/leaderboards")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*") // For frontend integration
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    /**
+     * Top tours by popularity or rating, optionally for one transport type
+     */
+    @GetMapping("/{metric}")
+    public ResponseEntity<List<LeaderboardEntryDto>> getLeaderboard(
+            @PathVariable String metric,
+            @RequestParam(required = false) String transportType,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("GET /api/leaderboards/{} - Getting top {} tours (transport type: {})", metric, limit, transportType);
+        List<LeaderboardEntryDto> leaderboard = leaderboardService.getLeaderboard(metric, transportType, limit);
+        return ResponseEntity.ok(leaderboard);
+    }
+}
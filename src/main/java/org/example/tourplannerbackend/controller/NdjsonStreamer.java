@@ -0,0 +1,68 @@
+package org.example.tourplannerbackend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes newline-delimited JSON (application/x-ndjson) one DTO at a time,
+ * so list endpoints never hold the complete result in memory
+ */
+@Component
+public class NdjsonStreamer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectWriter writer;
+
+    public NdjsonStreamer(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer();
+    }
+
+    /**
+     * Build a streaming response from a source that pushes each item to the given consumer
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(Consumer<Consumer<T>> source) {
+        return stream(source, false);
+    }
+
+    /**
+     * Like stream, but each line is sent as soon as it is written (progress updates of long operations)
+     */
+    public <T> ResponseEntity<StreamingResponseBody> streamEachLine(Consumer<Consumer<T>> source) {
+        return stream(source, true);
+    }
+
+    private <T> ResponseEntity<StreamingResponseBody> stream(Consumer<Consumer<T>> source, boolean flushEachLine) {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+            source.accept(item -> writeLine(out, item, flushEachLine));
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, Object item, boolean flush) {
+        try {
+            out.write(writer.writeValueAsBytes(item));
+            out.write('\n');
+            if (flush) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write NDJSON line", e);
+        }
+    }
+}
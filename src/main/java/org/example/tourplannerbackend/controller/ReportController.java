@@ -2,12 +2,32 @@ package org.example.tourplannerbackend.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.tourplannerbackend.service.ReportService;
+import org.example.tourplannerbackend.dto.ReportJobDto;
+import org.example.tourplannerbackend.service.ReportArchiveService;
+import org.example.tourplannerbackend.service.ReportJobService;
+import org.example.tourplannerbackend.service.SummaryReportStore;
+import org.example.tourplannerbackend.service.TourReportCache;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -16,25 +36,44 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*")
 public class ReportController {
 
-    private final ReportService reportService;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    private final ReportJobService reportJobService;
+    private final TourReportCache tourReportCache;
+    private final ReportArchiveService reportArchiveService;
+    private final SummaryReportStore summaryReportStore;
 
     /**
      * Generate tour report (Must-Have: PDF generation)
      * Contains all information of a single tour and all its associated tour logs
+     * Reports are cached by content version: an unchanged tour is served from the report cache,
+     * and a matching If-None-Match gets a 304
      */
     @GetMapping("/tour/{tourId}")
-    public ResponseEntity<byte[]> generateTourReport(@PathVariable Long tourId) {
+    public ResponseEntity<Resource> generateTourReport(@PathVariable Long tourId,
+                                                       WebRequest webRequest) {
         log.info("GET /api/reports/tour/{} - Generating tour report", tourId);
 
+        String version = tourReportCache.currentVersion(tourId);
+        String etag = "\"tour-" + tourId + "-" + version + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         try {
-            byte[] pdfBytes = reportService.generateTourReport(tourId);
+            // Opened by the cache, so a concurrent eviction cannot remove the file under the response
+            TourReportCache.OpenReport report = tourReportCache.open(tourId, version);
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("attachment", "tour-report-" + tourId + ".pdf");
-            headers.setContentLength(pdfBytes.length);
+            headers.setContentLength(report.report().size());
+            headers.setETag(etag);
+            headers.setCacheControl(CacheControl.noCache());
 
-            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+            Resource body = new InputStreamResource(report.content());
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
 
         } catch (Exception e) {
             log.error("Error generating tour report for tour {}: {}", tourId, e.getMessage());
@@ -45,24 +84,112 @@ public class ReportController {
     /**
      * Generate summary report (Must-Have: PDF generation)
      * Statistical analysis for all tours with average time, distance and rating
+     * Served from the latest stored snapshot, with its age in the Age and Last-Modified headers; with fresh=true
+     * (or before the first snapshot exists) the PDF is streamed while it is rendered and becomes the new snapshot
      */
     @GetMapping("/summary")
-    public ResponseEntity<byte[]> generateSummaryReport() {
-        log.info("GET /api/reports/summary - Generating summary report");
+    public ResponseEntity<StreamingResponseBody> generateSummaryReport(
+            @RequestParam(defaultValue = "false") boolean fresh) throws IOException {
+        log.info("GET /api/reports/summary - Generating summary report (fresh: {})", fresh);
 
-        try {
-            byte[] pdfBytes = reportService.generateSummaryReport();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment", "tour-summary-report.pdf");
+        headers.setCacheControl(CacheControl.noCache());
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "tour-summary-report.pdf");
-            headers.setContentLength(pdfBytes.length);
+        Optional<SummaryReportStore.OpenSnapshot> stored = fresh ? Optional.empty() : summaryReportStore.openLatest();
+        if (stored.isPresent()) {
+            SummaryReportStore.Snapshot snapshot = stored.get().snapshot();
+            headers.setContentLength(snapshot.size());
+            headers.setLastModified(snapshot.generatedAt());
+            headers.set(HttpHeaders.AGE, String.valueOf(
+                    Math.max(0, Duration.between(snapshot.generatedAt(), Instant.now()).toSeconds())));
 
-            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
-
-        } catch (Exception e) {
-            log.error("Error generating summary report: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            StreamingResponseBody body = outputStream -> {
+                try (InputStream content = stored.get().content()) {
+                    content.transferTo(outputStream);
+                }
+            };
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
         }
+
+        headers.set(HttpHeaders.AGE, "0");
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, STREAM_BUFFER_SIZE);
+            summaryReportStore.rebuild(out);
+            out.flush();
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * ZIP archive with the tour report of every tour, streamed while the reports are rendered in parallel
+     */
+    @GetMapping("/tours/archive")
+    public ResponseEntity<StreamingResponseBody> generateTourReportArchive() {
+        log.info("GET /api/reports/tours/archive - Generating report archive for all tours");
+
+        List<Long> tourIds = reportArchiveService.archiveTourIds();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(APPLICATION_ZIP);
+        headers.setContentDispositionFormData("attachment", "tour-reports.zip");
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, STREAM_BUFFER_SIZE);
+            reportArchiveService.writeArchive(tourIds, out);
+            out.flush();
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Queue a summary report job; poll the returned job and download its result when it is DONE
+     * An identical job that is still queued or running is returned instead of starting another one
+     */
+    @PostMapping("/summary/jobs")
+    public ResponseEntity<ReportJobDto> submitSummaryReport() {
+        log.info("POST /api/reports/summary/jobs - Queueing summary report");
+        return accepted(reportJobService.submitSummaryReport());
+    }
+
+    /**
+     * Queue a tour report job
+     */
+    @PostMapping("/tour/{tourId}/jobs")
+    public ResponseEntity<ReportJobDto> submitTourReport(@PathVariable Long tourId) {
+        log.info("POST /api/reports/tour/{}/jobs - Queueing tour report", tourId);
+        return accepted(reportJobService.submitTourReport(tourId));
+    }
+
+    /**
+     * Status of a report job
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ReportJobDto> getReportJob(@PathVariable String jobId) {
+        log.info("GET /api/reports/jobs/{} - Getting report job status", jobId);
+        return ResponseEntity.ok(reportJobService.getJob(jobId));
+    }
+
+    /**
+     * Download the PDF of a finished report job (409 while it is not DONE)
+     */
+    @GetMapping("/jobs/{jobId}/result")
+    public ResponseEntity<Resource> downloadReportJobResult(@PathVariable String jobId) {
+        log.info("GET /api/reports/jobs/{}/result - Downloading report", jobId);
+        return reportJobService.getResult(jobId)
+                .map(result -> {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.setContentType(MediaType.APPLICATION_PDF);
+                    headers.setContentDispositionFormData("attachment", result.fileName());
+                    return new ResponseEntity<Resource>(new FileSystemResource(result.file()), headers, HttpStatus.OK);
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    private ResponseEntity<ReportJobDto> accepted(ReportJobDto job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/jobs/" + job.getId()))
+                .body(job);
     }
-}
\ No newline at end of file
+}
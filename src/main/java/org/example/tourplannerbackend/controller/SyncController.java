@@ -0,0 +1,30 @@
+package org.example.tourplannerbackend.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.dto.SyncResponseDto;
+import org.example.tourplannerbackend.service.SyncService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*") // For frontend integration
+public class SyncController {
+
+    private final SyncService syncService;
+
+    /**
+     * Tours and logs changed since the token plus tombstones; without a token everything is returned
+     */
+    @GetMapping
+    public ResponseEntity<SyncResponseDto> sync(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        log.info("GET /api/sync?since={} - Syncing changes (limit {})", since, limit);
+        SyncResponseDto changes = syncService.getChanges(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+}
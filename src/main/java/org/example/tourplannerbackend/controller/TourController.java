@@ -1,13 +1,18 @@
 package org.example.tourplannerbackend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.tourplannerbackend.dto.*;
+import org.example.tourplannerbackend.exception.BadRequestException;
+import org.example.tourplannerbackend.service.SimilarTourService;
 import org.example.tourplannerbackend.service.TourService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,6 +24,9 @@ import java.util.List;
 public class TourController {
 
     private final TourService tourService;
+    private final SimilarTourService similarTourService;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final ObjectMapper objectMapper;
 
     /**
      * Get all tours
@@ -30,14 +38,29 @@ public class TourController {
         return ResponseEntity.ok(tours);
     }
 
+    /**
+     * Stream all tours as NDJSON (Accept: application/x-ndjson)
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTours() {
+        log.info("GET /api/tours - Streaming all tours as NDJSON");
+        return ndjsonStreamer.stream(tourService::streamAllTours);
+    }
+
     /**
      * Get tour by ID
+     * Sparse fieldset with ?fields=name,distance,...; logs are only embedded with ?include=logs (newest logsLimit)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TourResponseDto> getTourById(@PathVariable Long id) {
-        log.info("GET /api/tours/{} - Getting tour by ID", id);
-        TourResponseDto tour = tourService.getTourById(id);
-        return ResponseEntity.ok(tour);
+    public ResponseEntity<Object> getTourById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            @RequestParam(defaultValue = "100") int logsLimit) {
+        log.info("GET /api/tours/{} - Getting tour by ID (fields: {}, include: {})", id, fields, include);
+        FieldSelection selection = FieldSelection.parse(fields, TourResponseDto.class);
+        TourResponseDto tour = tourService.getTourById(id, selection, includesLogs(include), logsLimit);
+        return ResponseEntity.ok(selection.apply(tour, objectMapper));
     }
 
     /**
@@ -50,6 +73,36 @@ public class TourController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTour);
     }
 
+    /**
+     * Create many tours at once (all-or-nothing, per-item results)
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResultDto> createToursBulk(@RequestBody List<TourRequestDto> tourRequestDtos) {
+        log.info("POST /api/tours/bulk - Bulk creating {} tours", tourRequestDtos.size());
+        BulkResultDto result = tourService.createToursBulk(tourRequestDtos);
+        return ResponseEntity.status(result.isSuccess() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST).body(result);
+    }
+
+    /**
+     * Update many tours at once (all-or-nothing, per-item results)
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<BulkResultDto> updateToursBulk(@RequestBody List<BulkUpdateItemDto<TourRequestDto>> items) {
+        log.info("PUT /api/tours/bulk - Bulk updating {} tours", items.size());
+        BulkResultDto result = tourService.updateToursBulk(items);
+        return ResponseEntity.status(result.isSuccess() ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(result);
+    }
+
+    /**
+     * Delete many tours (and their logs) at once (all-or-nothing, per-item results)
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkResultDto> deleteToursBulk(@RequestBody List<Long> ids) {
+        log.info("DELETE /api/tours/bulk - Bulk deleting {} tours", ids.size());
+        BulkResultDto result = tourService.deleteToursBulk(ids);
+        return ResponseEntity.status(result.isSuccess() ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(result);
+    }
+
     /**
      * Update existing tour
      */
@@ -82,6 +135,25 @@ public class TourController {
         return ResponseEntity.ok(tours);
     }
 
+    /**
+     * Facet counts (transport type, distance, duration, average rating) for a search; all tours without q
+     */
+    @GetMapping("/search/facets")
+    public ResponseEntity<TourFacetsDto> getSearchFacets(@RequestParam(value = "q", required = false) String searchTerm) {
+        log.info("GET /api/tours/search/facets?q={} - Computing search facets", searchTerm);
+        TourFacetsDto facets = tourService.getSearchFacets(searchTerm);
+        return ResponseEntity.ok(facets);
+    }
+
+    /**
+     * Stream search results as NDJSON (Accept: application/x-ndjson)
+     */
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearchTours(@RequestParam("q") String searchTerm) {
+        log.info("GET /api/tours/search?q={} - Streaming search results as NDJSON", searchTerm);
+        return ndjsonStreamer.<TourSummaryDto>stream(consumer -> tourService.streamSearchTours(searchTerm, consumer));
+    }
+
     /**
      * Get tours by transport type
      */
@@ -102,6 +174,38 @@ public class TourController {
         return ResponseEntity.ok(tours);
     }
 
+    /**
+     * Get tours starting within a radius of a point, nearest first
+     */
+    @GetMapping("/near")
+    public ResponseEntity<List<NearbyTourDto>> getToursNear(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam double radiusKm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /api/tours/near?lat={}&lon={}&radiusKm={} - Getting nearby tours", lat, lon, radiusKm);
+        List<NearbyTourDto> tours = tourService.getToursNear(lat, lon, radiusKm, page, size);
+        return ResponseEntity.ok(tours);
+    }
+
+    /**
+     * Get tours starting inside a bounding box
+     */
+    @GetMapping("/within")
+    public ResponseEntity<List<TourSummaryDto>> getToursInBoundingBox(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /api/tours/within?minLat={}&minLon={}&maxLat={}&maxLon={} - Getting tours in bounding box",
+                minLat, minLon, maxLat, maxLon);
+        List<TourSummaryDto> tours = tourService.getToursInBoundingBox(minLat, minLon, maxLat, maxLon, page, size);
+        return ResponseEntity.ok(tours);
+    }
+
     /**
      * Calculate route for existing tour
      */
@@ -112,6 +216,18 @@ public class TourController {
         return ResponseEntity.ok(tour);
     }
 
+    /**
+     * Get the tours most similar to this one (distance, time, transport type, log distributions, locations)
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarTourDto>> getSimilarTours(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("GET /api/tours/{}/similar - Getting {} similar tours", id, limit);
+        List<SimilarTourDto> similarTours = similarTourService.getSimilarTours(id, limit);
+        return ResponseEntity.ok(similarTours);
+    }
+
     /**
      * Get tour statistics
      */
@@ -121,4 +237,22 @@ public class TourController {
         TourStatisticsDto statistics = tourService.getTourStatistics(id);
         return ResponseEntity.ok(statistics);
     }
+
+    // Parses ?include=; logs is the only embeddable relation
+    private static boolean includesLogs(String include) {
+        boolean logs = false;
+        if (include != null) {
+            for (String relation : include.split(",")) {
+                String name = relation.trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                if (!name.equals("logs")) {
+                    throw new BadRequestException("Unknown include: " + name + " (available: logs)");
+                }
+                logs = true;
+            }
+        }
+        return logs;
+    }
 }
\ No newline at end of file
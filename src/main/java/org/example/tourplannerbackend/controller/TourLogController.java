@@ -3,14 +3,19 @@ package org.example.tourplannerbackend.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.dto.BulkResultDto;
+import org.example.tourplannerbackend.dto.BulkUpdateItemDto;
+import org.example.tourplannerbackend.dto.TourLogFeedDto;
 import org.example.tourplannerbackend.dto.TourLogRequestDto;
 import org.example.tourplannerbackend.dto.TourLogResponseDto;
 import org.example.tourplannerbackend.dto.TourLogSummaryDto;
 import org.example.tourplannerbackend.service.TourLogService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,7 +27,10 @@ import java.util.List;
 @CrossOrigin(origins = "*") // For frontend integration
 public class TourLogController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final TourLogService tourLogService;
+    private final NdjsonStreamer ndjsonStreamer;
 
     /**
      * Get all logs for a specific tour
@@ -56,6 +64,29 @@ public class TourLogController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdLog);
     }
 
+    /**
+     * Create many logs for a tour at once (all-or-nothing, per-item results)
+     */
+    @PostMapping("/tours/{tourId}/logs/bulk")
+    public ResponseEntity<BulkResultDto> createTourLogsBulk(
+            @PathVariable Long tourId,
+            @RequestBody List<TourLogRequestDto> tourLogRequestDtos) {
+        log.info("POST /api/tours/{}/logs/bulk - Bulk creating {} tour logs", tourId, tourLogRequestDtos.size());
+        BulkResultDto result = tourLogService.createTourLogsBulk(tourId, tourLogRequestDtos);
+        return ResponseEntity.status(result.isSuccess() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST).body(result);
+    }
+
+    /**
+     * Update many tour logs at once (all-or-nothing, per-item results)
+     */
+    @PutMapping("/logs/bulk")
+    public ResponseEntity<BulkResultDto> updateTourLogsBulk(
+            @RequestBody List<BulkUpdateItemDto<TourLogRequestDto>> items) {
+        log.info("PUT /api/logs/bulk - Bulk updating {} tour logs", items.size());
+        BulkResultDto result = tourLogService.updateTourLogsBulk(items);
+        return ResponseEntity.status(result.isSuccess() ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(result);
+    }
+
     /**
      * Update existing tour log
      */
@@ -137,14 +168,31 @@ public class TourLogController {
         return ResponseEntity.ok(logs);
     }
 
+    /**
+     * Stream comment search results as NDJSON (Accept: application/x-ndjson)
+     */
+    @GetMapping(value = "/logs/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTourLogsByComment(@RequestParam("q") String searchTerm) {
+        log.info("GET /api/logs/search?q={} - Streaming tour logs as NDJSON", searchTerm);
+        return ndjsonStreamer.<TourLogResponseDto>stream(
+                consumer -> tourLogService.streamTourLogsByComment(searchTerm, consumer));
+    }
+
     /**
      * Get recent tour logs across all tours
+     * Pass the X-Next-Cursor header of a response as cursor to get the next (older) page
      */
     @GetMapping("/logs/recent")
     public ResponseEntity<List<TourLogResponseDto>> getRecentTourLogs(
-            @RequestParam(defaultValue = "10") int limit) {
-        log.info("GET /api/logs/recent?limit={} - Getting recent tour logs", limit);
-        List<TourLogResponseDto> logs = tourLogService.getRecentTourLogs(limit);
-        return ResponseEntity.ok(logs);
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /api/logs/recent?limit={}&cursor={} - Getting recent tour logs", limit, cursor);
+        TourLogFeedDto feed = tourLogService.getRecentTourLogs(limit, cursor);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (feed.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, feed.getNextCursor());
+        }
+        return response.body(feed.getLogs());
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package org.example.tourplannerbackend.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.dto.TrendPointDto;
+import org.example.tourplannerbackend.service.TourLogRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*") // For frontend integration
+public class TrendController {
+
+    private final TourLogRollupService tourLogRollupService;
+
+    /**
+     * Log trends of one tour per day, week or month (served from the daily rollups)
+     */
+    @GetMapping("/tours/{tourId}/trends")
+    public ResponseEntity<List<TrendPointDto>> getTourTrends(
+            @PathVariable Long tourId,
+            @RequestParam(defaultValue = "week") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("GET /api/tours/{}/trends - Getting {} trends", tourId, granularity);
+        List<TrendPointDto> trends = tourLogRollupService.getTourTrends(tourId, granularity, from, to);
+        return ResponseEntity.ok(trends);
+    }
+
+    /**
+     * Log trends across all tours, optionally for one transport type
+     */
+    @GetMapping("/trends")
+    public ResponseEntity<List<TrendPointDto>> getTrends(
+            @RequestParam(defaultValue = "week") String granularity,
+            @RequestParam(required = false) String transportType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("GET /api/trends - Getting {} trends (transport type: {})", granularity, transportType);
+        List<TrendPointDto> trends = tourLogRollupService.getTrends(granularity, transportType, from, to);
+        return ResponseEntity.ok(trends);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.tourplannerbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// Outcome of a single item of a bulk request
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResultDto {
+
+    public enum Status { CREATED, UPDATED, DELETED, INVALID, NOT_FOUND, SKIPPED }
+
+    private int index; // position in the request array
+    private Long id;
+    private Status status;
+    private Map<String, String> errors;
+}
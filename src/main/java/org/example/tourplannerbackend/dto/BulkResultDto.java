@@ -0,0 +1,25 @@
+package org.example.tourplannerbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Response of a bulk request: either every item was written or none was
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResultDto {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResultDto> items;
+
+    public boolean isSuccess() {
+        return failed == 0;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.tourplannerbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One entry of a bulk update: the ID to update and its new data
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateItemDto<T> {
+
+    private Long id;
+    private T data;
+}
@@ -0,0 +1,25 @@
+package org.example.tourplannerbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Compact change feed event: what changed and the affected IDs, clients fetch the data themselves
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEventDto {
+
+    private long sequence; // increasing per server instance, also sent as the SSE event id
+    private ChangeEventType type;
+    private List<Long> tourIds; // for log events the tours the logs belong to
+    private List<Long> logIds;
+    private LocalDateTime timestamp;
+}
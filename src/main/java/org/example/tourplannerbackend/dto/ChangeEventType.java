@@ -0,0 +1,22 @@
+package org.example.tourplannerbackend.dto;
+
+// Kind of change announced on the change feed; the SSE event name is the lower-case dotted form
+public enum ChangeEventType {
+    TOUR_CREATED("tour.created"),
+    TOUR_UPDATED("tour.updated"),
+    TOUR_DELETED("tour.deleted"),
+    ROUTE_CALCULATED("route.calculated"),
+    LOG_CREATED("log.created"),
+    LOG_UPDATED("log.updated"),
+    LOG_DELETED("log.deleted");
+
+    private final String eventName;
+
+    ChangeEventType(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+}
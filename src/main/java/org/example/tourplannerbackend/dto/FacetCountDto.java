@@ -0,0 +1,21 @@
+package org.example.tourplannerbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One facet value with its tour count; range facets carry their bounds (min inclusive, max exclusive)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FacetCountDto {
+
+    private String value;
+    private Double min;
+    private Double max;
+    private long count;
+}
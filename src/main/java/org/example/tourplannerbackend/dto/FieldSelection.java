@@ -0,0 +1,80 @@
+package org.example.tourplannerbackend.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.tourplannerbackend.exception.BadRequestException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Sparse fieldset requested with ?fields=: the top-level properties a response should contain
+public final class FieldSelection {
+
+    private static final FieldSelection ALL = new FieldSelection(null);
+    private static final TypeReference<LinkedHashMap<String, Object>> PROPERTIES = new TypeReference<>() {};
+
+    private final Set<String> fields; // null means all fields
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * Parse a comma-separated field list; blank means all fields, unknown names are rejected
+     */
+    public static FieldSelection parse(String fields, Class<?> dtoType) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> available = Arrays.stream(dtoType.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .map(Field::getName)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!available.contains(name)) {
+                throw new BadRequestException("Unknown field: " + name + " (available: " + String.join(", ", available) + ")");
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? ALL : new FieldSelection(selected);
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    public boolean includesAny(String... names) {
+        return Arrays.stream(names).anyMatch(this::includes);
+    }
+
+    /**
+     * The DTO itself for all fields, otherwise its selected properties in declaration order
+     */
+    public Object apply(Object dto, ObjectMapper objectMapper) {
+        if (fields == null) {
+            return dto;
+        }
+        Map<String, Object> properties = objectMapper.convertValue(dto, PROPERTIES);
+        properties.keySet().retainAll(fields);
+        return properties;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.tourplannerbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Outcome of a tour import (or its progress so far): counts and the records that were not imported
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportResultDto {
+
+    private int processed; // records read from the file so far
+    private int imported;
+    private int failed;
+    private Long bytesRead;
+    private Long totalBytes;
+    private boolean complete; // false on progress updates
+    private String error; // the file could not be read past this point; records before it are imported
+    private List<BulkItemResultDto> failures; // index = position in the file; final result only
+}
@@ -0,0 +1,21 @@
+package org.example.tourplannerbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One ranked tour of a leaderboard
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDto {
+
+    private Integer rank;
+    private Long tourId;
+    private String tourName;
+    private String transportType;
+    private Long logCount;
+    private Double averageRating;
+}
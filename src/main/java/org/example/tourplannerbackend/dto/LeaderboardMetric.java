@@ -0,0 +1,19 @@
+package org.example.tourplannerbackend.dto;
+
+import org.example.tourplannerbackend.exception.BadRequestException;
+
+import java.util.Locale;
+
+// Ranking criterion of a tour leaderboard
+public enum LeaderboardMetric {
+    POPULARITY, // number of logs
+    RATING;     // average log rating, ties broken by number of logs
+
+    public static LeaderboardMetric parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new BadRequestException("Invalid leaderboard metric: " + value + " (expected popularity or rating)");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.tourplannerbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Result of a radius search: tour summary plus distance of its start to the search point
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyTourDto {
+
+    private TourSummaryDto tour;
+    private Double distanceKm;
+}
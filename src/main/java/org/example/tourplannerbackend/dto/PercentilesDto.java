@@ -0,0 +1,20 @@
+package org.example.tourplannerbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Approximate percentiles of a measured value (from a t-digest, min and max are exact)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PercentilesDto {
+
+    private Double min;
+    private Double p50;
+    private Double p90;
+    private Double p99;
+    private Double max;
+}
@@ -0,0 +1,29 @@
+package org.example.tourplannerbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Status of an asynchronous report job, polled until it is DONE and then downloaded from resultUrl
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportJobDto {
+
+    private String id;
+    private String reportType; // "summary" or "tour"
+    private Long tourId;
+    private ReportJobStatus status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime expiresAt; // result and status are removed afterwards
+    private String error;
+    private String resultUrl;
+}
@@ -0,0 +1,9 @@
+package org.example.tourplannerbackend.dto;
+
+// Lifecycle of an asynchronous report job; DONE and FAILED jobs are kept until their retention ends
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,21 @@
+package org.example.tourplannerbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A tour similar to a given one; similarity is 1 for identical feature vectors and falls towards 0
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarTourDto {
+
+    private Long tourId;
+    private String tourName;
+    private String fromLocation;
+    private String toLocation;
+    private String transportType;
+    private Double similarity;
+}
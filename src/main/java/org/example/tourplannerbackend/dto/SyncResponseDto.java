@@ -0,0 +1,23 @@
+package org.example.tourplannerbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Delta sync page: tours and logs written since the client's token, tombstones for deletes, and the next token
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponseDto {
+
+    private String token; // pass as since on the next sync
+    private boolean hasMore; // more changes are waiting, sync again right away
+    private List<TourResponseDto> tours; // without tourLogs, logs are synced separately
+    private List<TourLogResponseDto> logs;
+    private List<Long> deletedTourIds; // logs of deleted tours are gone as well
+    private List<Long> deletedLogIds;
+}
@@ -23,6 +23,10 @@ public class TourExportDto {
     private Double distance;
     private Integer estimatedTime;
     private String routeImagePath;
+    private Double fromLatitude;
+    private Double fromLongitude;
+    private Double toLatitude;
+    private Double toLongitude;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<TourLogExportDto> tourLogs;
@@ -0,0 +1,23 @@
+package org.example.tourplannerbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Filter chip counts for a tour search: tours per transport type, distance, duration and average rating
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TourFacetsDto {
+
+    private String query;
+    private long totalTours;
+    private List<FacetCountDto> transportTypes;
+    private List<FacetCountDto> distanceRanges; // km
+    private List<FacetCountDto> durationRanges; // minutes
+    private List<FacetCountDto> ratingBuckets; // average rating of the tour's logs
+}
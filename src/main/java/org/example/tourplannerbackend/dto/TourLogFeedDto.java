@@ -0,0 +1,19 @@
+package org.example.tourplannerbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of the recent logs feed
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TourLogFeedDto {
+
+    private List<TourLogResponseDto> logs;
+    private String nextCursor; // null when there are no older logs
+}
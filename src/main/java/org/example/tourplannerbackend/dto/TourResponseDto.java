@@ -24,6 +24,10 @@ public class TourResponseDto {
     private Double distance;
     private Integer estimatedTime;
     private String routeImagePath;
+    private Double fromLatitude;
+    private Double fromLongitude;
+    private Double toLatitude;
+    private Double toLongitude;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,4 +22,8 @@ public class TourStatisticsDto {
     private Double averageTime;
     private Double averageRating;
     private Double averageDifficulty;
+    private PercentilesDto timePercentiles;      // minutes, null without logs
+    private PercentilesDto distancePercentiles;  // kilometers, null without logs
+    private Map<Integer, Long> ratingHistogram;     // rating 1-5 -> log count
+    private Map<Integer, Long> difficultyHistogram; // difficulty 1-10 -> log count
 }
\ No newline at end of file
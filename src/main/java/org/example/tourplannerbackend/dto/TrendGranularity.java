@@ -0,0 +1,34 @@
+package org.example.tourplannerbackend.dto;
+
+import org.example.tourplannerbackend.exception.BadRequestException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+// Bucket size of a trend series; weeks start on Monday (ISO)
+public enum TrendGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * First day of the bucket containing the given day
+     */
+    public LocalDate periodStart(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    public static TrendGranularity parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new BadRequestException("Invalid granularity: " + value + " (expected day, week or month)");
+        }
+    }
+}
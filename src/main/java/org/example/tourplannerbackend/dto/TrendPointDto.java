@@ -0,0 +1,29 @@
+package org.example.tourplannerbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// One bucket (day, week or month) of a tour log trend series
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendPointDto {
+
+    private LocalDate periodStart;
+    private Long logCount;
+    private Double totalDistance;
+    private Long totalTime;
+    private Double averageDistance;
+    private Double averageTime;
+    private Double averageRating;
+    private Double averageDifficulty;
+    private Double minDistance;
+    private Double maxDistance;
+    private Integer minTime;
+    private Integer maxTime;
+}
@@ -0,0 +1,54 @@
+package org.example.tourplannerbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the sync journal: a tour or log was written or deleted.
+ * The ID is the change sequence number, so "everything since token N" is a primary key range scan.
+ * Derived data like the rollups: plain ID columns without foreign keys, deletes stay as tombstones.
+ */
+@Entity
+@Table(name = "sync_changes",
+        indexes = @Index(name = "idx_sync_changes_entity", columnList = "entity_type, entity_id"))
+@Data
+@NoArgsConstructor
+public class SyncChange {
+
+    public enum EntityType {
+        TOUR,
+        LOG
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sync_changes_seq")
+    @SequenceGenerator(name = "sync_changes_seq", sequenceName = "sync_changes_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 8)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "tour_id", nullable = false)
+    private Long tourId; // the tour itself for tour changes, the parent tour for log changes
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    public SyncChange(EntityType entityType, Long entityId, Long tourId, boolean deleted) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.tourId = tourId;
+        this.deleted = deleted;
+        this.changedAt = LocalDateTime.now();
+    }
+}
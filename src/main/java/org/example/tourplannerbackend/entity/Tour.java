@@ -7,20 +7,36 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.example.tourplannerbackend.geo.GeoHash;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tours")
+@Table(name = "tours", indexes = {
+        @Index(name = "idx_tours_from_geohash", columnList = "from_geohash"),
+        @Index(name = "idx_tours_to_geohash", columnList = "to_geohash"),
+        @Index(name = "idx_tours_from_lat_lon", columnList = "from_latitude, from_longitude")
+})
+@NamedEntityGraph(name = Tour.WITH_LOGS, attributeNodes = @NamedAttributeNode("tourLogs"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tours")
 @Data
 @EqualsAndHashCode(exclude = "tourLogs")
 @ToString(exclude = "tourLogs")
 public class Tour {
 
+    // Fetch plan for reads that map popularity/child-friendliness or embed the logs
+    public static final String WITH_LOGS = "Tour.withLogs";
+
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tours_seq")
+    @SequenceGenerator(name = "tours_seq", sequenceName = "tours_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Tour name is required")
@@ -50,12 +66,34 @@ public class Tour {
 
     private String routeImagePath;
 
+    // Geocoded start/end coordinates (null until a route was calculated)
+    @Column(name = "from_latitude")
+    private Double fromLatitude;
+
+    @Column(name = "from_longitude")
+    private Double fromLongitude;
+
+    @Column(name = "to_latitude")
+    private Double toLatitude;
+
+    @Column(name = "to_longitude")
+    private Double toLongitude;
+
+    // Spatial index keys, derived from the coordinates on every write
+    @Column(name = "from_geohash", length = GeoHash.STORED_PRECISION)
+    private String fromGeohash;
+
+    @Column(name = "to_geohash", length = GeoHash.STORED_PRECISION)
+    private String toGeohash;
+
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
 
     @OneToMany(mappedBy = "tour", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tours.tourLogs")
+    @BatchSize(size = 50) // paged queries cannot fetch join a collection; load a page's logs in one query
     private List<TourLog> tourLogs = new ArrayList<>();
 
     // Computed properties
@@ -80,7 +118,11 @@ public class Tour {
                 .average()
                 .orElse(0);
 
-        // Child-friendliness calculation: lower difficulty, distance and time = more child-friendly
+        return childFriendliness(avgDifficulty, avgTime, distance);
+    }
+
+    // Child-friendliness calculation: lower difficulty, distance and time = more child-friendly
+    public static double childFriendliness(double avgDifficulty, double avgTime, Double distance) {
         double rawScore = (avgDifficulty * 0.5) + ((distance != null ? distance : 0) * 0.3) + (avgTime * 0.2);
 
         // Convert to 0-10 scale where 10 is most child-friendly
@@ -103,14 +145,33 @@ public class Tour {
         }
     }
 
+    public void clearFromCoordinates() {
+        fromLatitude = null;
+        fromLongitude = null;
+    }
+
+    public void clearToCoordinates() {
+        toLatitude = null;
+        toLongitude = null;
+    }
+
+    private void updateGeohashes() {
+        fromGeohash = fromLatitude != null && fromLongitude != null ?
+                GeoHash.encode(fromLatitude, fromLongitude, GeoHash.STORED_PRECISION) : null;
+        toGeohash = toLatitude != null && toLongitude != null ?
+                GeoHash.encode(toLatitude, toLongitude, GeoHash.STORED_PRECISION) : null;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        updateGeohashes();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        updateGeohashes();
     }
 }
\ No newline at end of file
@@ -5,18 +5,31 @@ import jakarta.validation.constraints.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tour_logs")
+@Table(name = "tour_logs", indexes = {
+        @Index(name = "idx_tour_logs_date_id", columnList = "date, id"),
+        @Index(name = "idx_tour_logs_tour_date", columnList = "tour_id, date")
+})
+@NamedEntityGraph(name = TourLog.WITH_TOUR, attributeNodes = @NamedAttributeNode("tour"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tourLogs")
 @Data
 @EqualsAndHashCode(exclude = "tour")
 @ToString(exclude = "tour")
 public class TourLog {
 
+    // Fetch plan for log listings; the mapper reads the tour's name for every log
+    public static final String WITH_TOUR = "TourLog.withTour";
+
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tour_logs_seq")
+    @SequenceGenerator(name = "tour_logs_seq", sequenceName = "tour_logs_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Date is required")
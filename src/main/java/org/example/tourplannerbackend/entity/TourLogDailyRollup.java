@@ -0,0 +1,75 @@
+package org.example.tourplannerbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated tour logs of one tour on one day, kept in step with tour_logs on every log write.
+ * Derived data: tour_id is a plain column (no foreign key), the whole table can be rebuilt from tour_logs.
+ */
+@Entity
+@Table(name = "tour_log_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollups_tour_date", columnNames = {"tour_id", "log_date"}),
+        indexes = @Index(name = "idx_rollups_date_transport", columnList = "log_date, transport_type"))
+@Data
+@NoArgsConstructor
+public class TourLogDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tour_log_daily_rollups_seq")
+    @SequenceGenerator(name = "tour_log_daily_rollups_seq", sequenceName = "tour_log_daily_rollups_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "tour_id", nullable = false)
+    private Long tourId;
+
+    @Column(name = "transport_type")
+    private String transportType; // copied from the tour so global trends can filter without a join
+
+    @Column(name = "log_date", nullable = false)
+    private LocalDate logDate;
+
+    @Column(nullable = false)
+    private Long logCount = 0L;
+
+    @Column(nullable = false)
+    private Double distanceSum = 0.0;
+
+    @Column(nullable = false)
+    private Long timeSum = 0L;
+
+    @Column(nullable = false)
+    private Long ratingSum = 0L;
+
+    @Column(nullable = false)
+    private Long difficultySum = 0L;
+
+    private Double minDistance;
+    private Double maxDistance;
+    private Integer minTime;
+    private Integer maxTime;
+
+    public TourLogDailyRollup(Long tourId, String transportType, LocalDate logDate) {
+        this.tourId = tourId;
+        this.transportType = transportType;
+        this.logDate = logDate;
+    }
+
+    /**
+     * Fold one new log into the rollup
+     */
+    public void add(TourLog tourLog) {
+        logCount++;
+        distanceSum += tourLog.getTotalDistance();
+        timeSum += tourLog.getTotalTime();
+        ratingSum += tourLog.getRating();
+        difficultySum += tourLog.getDifficulty();
+        minDistance = minDistance == null ? tourLog.getTotalDistance() : Math.min(minDistance, tourLog.getTotalDistance());
+        maxDistance = maxDistance == null ? tourLog.getTotalDistance() : Math.max(maxDistance, tourLog.getTotalDistance());
+        minTime = minTime == null ? tourLog.getTotalTime() : Math.min(minTime, tourLog.getTotalTime());
+        maxTime = maxTime == null ? tourLog.getTotalTime() : Math.max(maxTime, tourLog.getTotalTime());
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.tourplannerbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Compact distribution summary of all logs of one tour: counts and sums, fixed rating/difficulty
+ * histograms and serialized t-digests for time and distance. Kept in step with tour_logs on every log write;
+ * like the daily rollups it is derived data and can be rebuilt from tour_logs.
+ */
+@Entity
+@Table(name = "tour_log_sketches")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tourLogSketches")
+@Data
+@NoArgsConstructor
+public class TourLogSketch {
+
+    @Id
+    @Column(name = "tour_id")
+    private Long tourId;
+
+    @Column(nullable = false)
+    private Long logCount = 0L;
+
+    @Column(nullable = false)
+    private Double distanceSum = 0.0;
+
+    @Column(nullable = false)
+    private Long timeSum = 0L;
+
+    @Column(nullable = false)
+    private Long ratingSum = 0L;
+
+    @Column(nullable = false)
+    private Long difficultySum = 0L;
+
+    @Column(nullable = false)
+    private long[] ratingHistogram; // index 0 = rating 1
+
+    @Column(nullable = false)
+    private long[] difficultyHistogram; // index 0 = difficulty 1
+
+    @Column(length = 8192)
+    private byte[] timeDigest;
+
+    @Column(length = 8192)
+    private byte[] distanceDigest;
+
+    public TourLogSketch(Long tourId) {
+        this.tourId = tourId;
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.tourplannerbackend.geo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash encoding and cell arithmetic used for the B-tree based spatial index on tours.
+ * A geohash prefix identifies a lat/lon cell, so "all points in a cell" is a string range scan.
+ */
+public final class GeoHash {
+
+    public static final int STORED_PRECISION = 9; // ~5m x 5m cells
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private GeoHash() {
+    }
+
+    /**
+     * Encode a coordinate into a geohash of the given precision (1-12 characters)
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Cell height in degrees latitude for the given precision
+     */
+    public static double cellHeightDegrees(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    /**
+     * Cell width in degrees longitude for the given precision
+     */
+    public static double cellWidthDegrees(int precision) {
+        int lonBits = (5 * precision + 1) / 2;
+        return 360.0 / (1L << lonBits);
+    }
+
+    /**
+     * Largest precision whose cells are at least radiusKm high and wide at the given latitude,
+     * so the 3x3 block around the centre cell covers the whole search circle.
+     * Returns 0 if even single-character cells are too small.
+     */
+    public static int precisionForRadius(double latitude, double radiusKm) {
+        double cosLat = Math.max(Math.cos(Math.toRadians(Math.min(Math.abs(latitude) + radiusKm / KM_PER_DEGREE, 90))), 0);
+        for (int precision = STORED_PRECISION; precision >= 1; precision--) {
+            double heightKm = cellHeightDegrees(precision) * KM_PER_DEGREE;
+            double widthKm = cellWidthDegrees(precision) * KM_PER_DEGREE * cosLat;
+            if (heightKm >= radiusKm && widthKm >= radiusKm) {
+                return precision;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The cell containing the coordinate plus its (up to) eight neighbours
+     */
+    public static List<String> coveringCells(double latitude, double longitude, int precision) {
+        double dLat = cellHeightDegrees(precision);
+        double dLon = cellWidthDegrees(precision);
+        Set<String> cells = new LinkedHashSet<>();
+
+        for (int i = -1; i <= 1; i++) {
+            double lat = latitude + i * dLat;
+            if (lat < -90 || lat > 90) {
+                continue;
+            }
+            for (int j = -1; j <= 1; j++) {
+                double lon = longitude + j * dLon;
+                // Wrap around the antimeridian
+                if (lon < -180) lon += 360;
+                if (lon >= 180) lon -= 360;
+                cells.add(encode(lat, lon, precision));
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+
+    /**
+     * Smallest geohash of the same length that sorts after every hash starting with the prefix,
+     * or null if there is none (prefix is all 'z'). Together with the prefix itself this gives
+     * the half-open string range [prefix, upperBound) for an index range scan.
+     */
+    public static String upperBound(String prefix) {
+        char[] chars = prefix.toCharArray();
+        for (int i = chars.length - 1; i >= 0; i--) {
+            int index = indexOf(chars[i]);
+            if (index < BASE32.length - 1) {
+                chars[i] = BASE32[index + 1];
+                return new String(chars, 0, i + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Great-circle distance between two coordinates in kilometers
+     */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < BASE32.length; i++) {
+            if (BASE32[i] == c) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Invalid geohash character: " + c);
+    }
+}
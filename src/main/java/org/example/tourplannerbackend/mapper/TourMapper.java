@@ -4,8 +4,11 @@ import org.example.tourplannerbackend.dto.TourRequestDto;
 import org.example.tourplannerbackend.dto.TourResponseDto;
 import org.example.tourplannerbackend.dto.TourSummaryDto;
 import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.entity.TourLogSketch;
+import org.example.tourplannerbackend.repository.TourListRow;
 import org.springframework.stereotype.Component;
 
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Component
@@ -56,6 +59,10 @@ public class TourMapper {
                 .distance(tour.getDistance())
                 .estimatedTime(tour.getEstimatedTime())
                 .routeImagePath(tour.getRouteImagePath())
+                .fromLatitude(tour.getFromLatitude())
+                .fromLongitude(tour.getFromLongitude())
+                .toLatitude(tour.getToLatitude())
+                .toLongitude(tour.getToLongitude())
                 .createdAt(tour.getCreatedAt())
                 .updatedAt(tour.getUpdatedAt())
                 .popularity(tour.getPopularity())
@@ -68,6 +75,51 @@ public class TourMapper {
                 .build();
     }
 
+    /**
+     * Convert Tour entity to TourResponseDto without touching the tourLogs collection
+     * Log-derived values (popularity, child-friendliness, logs count) and embedded logs are left to the caller
+     */
+    public TourResponseDto toHeaderDto(Tour tour) {
+        if (tour == null) {
+            return null;
+        }
+
+        return TourResponseDto.builder()
+                .id(tour.getId())
+                .name(tour.getName())
+                .description(tour.getDescription())
+                .fromLocation(tour.getFromLocation())
+                .toLocation(tour.getToLocation())
+                .transportType(tour.getTransportType())
+                .distance(tour.getDistance())
+                .estimatedTime(tour.getEstimatedTime())
+                .routeImagePath(tour.getRouteImagePath())
+                .fromLatitude(tour.getFromLatitude())
+                .fromLongitude(tour.getFromLongitude())
+                .toLatitude(tour.getToLatitude())
+                .toLongitude(tour.getToLongitude())
+                .createdAt(tour.getCreatedAt())
+                .updatedAt(tour.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Tour header plus popularity, log count and child-friendliness from the tour's log sketch (null: no logs)
+     */
+    public TourResponseDto toHeaderDto(Tour tour, TourLogSketch sketch) {
+        TourResponseDto dto = toHeaderDto(tour);
+        if (dto == null) {
+            return null;
+        }
+        long logCount = sketch != null ? sketch.getLogCount() : 0;
+        dto.setPopularity((int) logCount);
+        dto.setTourLogsCount((int) logCount);
+        dto.setChildFriendliness(logCount > 0 ?
+                Tour.childFriendliness((double) sketch.getDifficultySum() / logCount,
+                        (double) sketch.getTimeSum() / logCount, tour.getDistance()) : 0);
+        return dto;
+    }
+
     /**
      * Convert Tour entity to TourSummaryDto
      */
@@ -90,6 +142,27 @@ public class TourMapper {
                 .build();
     }
 
+    /**
+     * Convert a tour list row to TourSummaryDto (log figures from the tour's sketch)
+     */
+    public TourSummaryDto toSummaryDto(TourListRow row) {
+        long logCount = row.getLogCount();
+        return TourSummaryDto.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .fromLocation(row.getFromLocation())
+                .toLocation(row.getToLocation())
+                .transportType(row.getTransportType())
+                .distance(row.getDistance())
+                .estimatedTime(row.getEstimatedTime())
+                .popularity((int) logCount)
+                .childFriendliness(logCount > 0 ?
+                        Tour.childFriendliness((double) row.getDifficultySum() / logCount,
+                                (double) row.getTimeSum() / logCount, row.getDistance()) : 0)
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+
     /**
      * Update existing Tour entity from TourRequestDto
      */
@@ -98,6 +171,14 @@ public class TourMapper {
             return;
         }
 
+        // Coordinates belong to the old locations until the route is recalculated
+        if (!Objects.equals(tour.getFromLocation(), dto.getFromLocation())) {
+            tour.clearFromCoordinates();
+        }
+        if (!Objects.equals(tour.getToLocation(), dto.getToLocation())) {
+            tour.clearToCoordinates();
+        }
+
         tour.setName(dto.getName());
         tour.setDescription(dto.getDescription());
         tour.setFromLocation(dto.getFromLocation());
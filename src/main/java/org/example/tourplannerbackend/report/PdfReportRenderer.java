@@ -0,0 +1,195 @@
+package org.example.tourplannerbackend.report;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.entity.TourLog;
+import org.example.tourplannerbackend.repository.TourSummaryRow;
+import org.example.tourplannerbackend.repository.TourTotals;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+
+import static org.example.tourplannerbackend.report.ReportFormat.decimal;
+import static org.example.tourplannerbackend.report.ReportFormat.whole;
+import static org.example.tourplannerbackend.report.ReportStyles.addDataCell;
+import static org.example.tourplannerbackend.report.ReportStyles.addLabelValue;
+
+/**
+ * Lays out the PDF reports from data that is already loaded; no database access.
+ * Styles come from ReportStyles and numbers are formatted by ReportFormat, so a table row costs
+ * its cells and their text but no fonts or format parsing. Data tables are written in chunks
+ * (iText large table mode), so only ROWS_PER_CHUNK rows are held at a time. Streams are not closed.
+ */
+@Component
+public class PdfReportRenderer {
+
+    // Rows added to a data table between two writes of the large table
+    static final int ROWS_PER_CHUNK = 100;
+
+    private static final float[] LOG_COLUMNS = {2, 1.5f, 1, 1, 1, 3};
+    private static final float[] SUMMARY_COLUMNS = {3, 2, 2, 1.5f, 1.5f, 1, 1.5f};
+
+    /**
+     * Tour report: details, statistics and all logs of one tour (logs must be loaded)
+     */
+    public void writeTourReport(Tour tour, OutputStream out) throws DocumentException {
+        Document document = open(out);
+        document.add(ReportStyles.title("Tour Report: " + tour.getName()));
+        document.add(ReportStyles.generatedOn(ReportFormat.seconds(LocalDateTime.now())));
+
+        addTourDetails(document, tour);
+        addTourStatistics(document, tour);
+        addTourLogs(document, tour);
+
+        document.close();
+    }
+
+    /**
+     * Summary report: overall statistics and one row per tour; returns the number of rows
+     */
+    public int writeSummaryReport(TourTotals totals, long totalLogs, Iterator<? extends TourSummaryRow> rows,
+                                  OutputStream out) throws DocumentException {
+        Document document = open(out);
+        document.add(ReportStyles.title("Tour Summary Report"));
+        document.add(ReportStyles.generatedOn(ReportFormat.seconds(LocalDateTime.now())));
+
+        addOverallStatistics(document, totals, totalLogs);
+        int count = addTourSummaryTable(document, rows);
+
+        document.close();
+        return count;
+    }
+
+    private Document open(OutputStream out) throws DocumentException {
+        Document document = new Document(PageSize.A4);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        document.open();
+        return document;
+    }
+
+    private void addTourDetails(Document document, Tour tour) throws DocumentException {
+        document.add(ReportStyles.section("Tour Details"));
+
+        PdfPTable table = ReportStyles.labelValueTable();
+        addLabelValue(table, "Name:", tour.getName());
+        addLabelValue(table, "From:", tour.getFromLocation());
+        addLabelValue(table, "To:", tour.getToLocation());
+        addLabelValue(table, "Transport Type:", tour.getTransportType());
+        addLabelValue(table, "Distance:", decimal(tour.getDistance(), 2, " km"));
+        addLabelValue(table, "Estimated Time:", whole(tour.getEstimatedTime(), " minutes"));
+        addLabelValue(table, "Description:", tour.getDescription() != null ? tour.getDescription() : "No description");
+        addLabelValue(table, "Created:", ReportFormat.minutes(tour.getCreatedAt()));
+
+        document.add(table);
+    }
+
+    private void addTourStatistics(Document document, Tour tour) throws DocumentException {
+        document.add(ReportStyles.section("Tour Statistics"));
+
+        PdfPTable table = ReportStyles.labelValueTable();
+        int logCount = tour.getTourLogs().size();
+        addLabelValue(table, "Total Logs:", String.valueOf(logCount));
+        addLabelValue(table, "Popularity:", String.valueOf(tour.getPopularity()));
+        addLabelValue(table, "Child-Friendliness:", decimal(tour.getChildFriendliness(), 2) + "/10");
+
+        if (logCount > 0) {
+            // One pass for all four averages
+            double distance = 0;
+            double time = 0;
+            double rating = 0;
+            double difficulty = 0;
+            for (TourLog tourLog : tour.getTourLogs()) {
+                distance += tourLog.getTotalDistance();
+                time += tourLog.getTotalTime();
+                rating += tourLog.getRating();
+                difficulty += tourLog.getDifficulty();
+            }
+            addLabelValue(table, "Average Distance:", decimal(distance / logCount, 2) + " km");
+            addLabelValue(table, "Average Time:", decimal(time / logCount, 0) + " minutes");
+            addLabelValue(table, "Average Rating:", decimal(rating / logCount, 2) + "/5");
+            addLabelValue(table, "Average Difficulty:", decimal(difficulty / logCount, 2) + "/10");
+        }
+
+        document.add(table);
+    }
+
+    private void addTourLogs(Document document, Tour tour) throws DocumentException {
+        document.add(ReportStyles.section("Tour Logs"));
+
+        if (tour.getTourLogs().isEmpty()) {
+            document.add(new Paragraph("No tour logs available.", ReportStyles.NOTE));
+            return;
+        }
+
+        PdfPTable table = ReportStyles.dataTable(LOG_COLUMNS,
+                "Date", "Distance (km)", "Time (min)", "Difficulty", "Rating", "Comment");
+        table.setComplete(false);
+
+        int rows = 0;
+        for (TourLog tourLog : tour.getTourLogs()) {
+            addDataCell(table, ReportFormat.minutes(tourLog.getDate()));
+            addDataCell(table, decimal(tourLog.getTotalDistance(), 2));
+            addDataCell(table, String.valueOf(tourLog.getTotalTime()));
+            addDataCell(table, String.valueOf(tourLog.getDifficulty()));
+            addDataCell(table, String.valueOf(tourLog.getRating()));
+            addDataCell(table, tourLog.getComment() != null ? tourLog.getComment() : "");
+            if (++rows % ROWS_PER_CHUNK == 0) {
+                document.add(table);
+            }
+        }
+
+        table.setComplete(true);
+        document.add(table);
+    }
+
+    private void addOverallStatistics(Document document, TourTotals totals, long totalLogs) throws DocumentException {
+        document.add(ReportStyles.section("Overall Statistics"));
+
+        PdfPTable table = ReportStyles.labelValueTable();
+        double avgDistance = totals.getAverageDistance() != null ? totals.getAverageDistance() : 0;
+        double avgTime = totals.getAverageEstimatedTime() != null ? totals.getAverageEstimatedTime() : 0;
+
+        addLabelValue(table, "Total Tours:", String.valueOf(totals.getTourCount()));
+        addLabelValue(table, "Total Tour Logs:", String.valueOf(totalLogs));
+        addLabelValue(table, "Average Tour Distance:", decimal(avgDistance, 2) + " km");
+        addLabelValue(table, "Average Estimated Time:", decimal(avgTime, 0) + " minutes");
+
+        document.add(table);
+    }
+
+    private int addTourSummaryTable(Document document, Iterator<? extends TourSummaryRow> rows) throws DocumentException {
+        document.add(ReportStyles.section("Tour Summary"));
+
+        PdfPTable table = ReportStyles.dataTable(SUMMARY_COLUMNS,
+                "Tour Name", "From", "To", "Distance", "Time", "Logs", "Avg Rating");
+        table.setComplete(false);
+
+        int count = 0;
+        while (rows.hasNext()) {
+            TourSummaryRow row = rows.next();
+            long logCount = row.getLogCount();
+            addDataCell(table, row.getName());
+            addDataCell(table, row.getFromLocation());
+            addDataCell(table, row.getToLocation());
+            addDataCell(table, decimal(row.getDistance(), 1, " km"));
+            addDataCell(table, whole(row.getEstimatedTime(), " min"));
+            addDataCell(table, String.valueOf(logCount));
+            addDataCell(table, decimal(logCount > 0 ? (double) row.getRatingSum() / logCount : 0, 1));
+            if (++count % ROWS_PER_CHUNK == 0) {
+                document.add(table);
+            }
+        }
+
+        table.setComplete(true);
+        document.add(table);
+        return count;
+    }
+}
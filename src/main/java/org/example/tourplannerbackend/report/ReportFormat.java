@@ -0,0 +1,91 @@
+package org.example.tourplannerbackend.report;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Number and date formatting for the PDF reports without java.util.Formatter.
+ * decimal() gives the same digits as String.format("%.nf") (half-up rounding of the shortest
+ * representation) but always with a '.' separator; missing values are shown as N/A.
+ */
+public final class ReportFormat {
+
+    public static final String NOT_AVAILABLE = "N/A";
+
+    private static final DateTimeFormatter MINUTES = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private ReportFormat() {
+    }
+
+    /**
+     * Value with the given number of decimals, rounded half up
+     */
+    public static String decimal(double value, int decimals) {
+        String repr = Double.toString(value);
+        if (!Double.isFinite(value)) {
+            return repr;
+        }
+        if (repr.indexOf('E') >= 0) {
+            // Very large or very small values are rare enough for the exact route
+            String plain = new BigDecimal(repr).setScale(decimals, RoundingMode.HALF_UP).toPlainString();
+            return value < 0 && plain.charAt(0) != '-' ? "-" + plain : plain;
+        }
+
+        int start = repr.charAt(0) == '-' ? 1 : 0;
+        int point = repr.indexOf('.');
+        int keep = decimals == 0 ? point : point + 1 + decimals;
+        StringBuilder sb = new StringBuilder(keep + 1);
+        if (keep >= repr.length()) {
+            sb.append(repr);
+            for (int i = repr.length(); i < keep; i++) {
+                sb.append('0');
+            }
+            return sb.toString();
+        }
+
+        sb.append(repr, 0, keep);
+        if (repr.charAt(decimals == 0 ? point + 1 : keep) >= '5') {
+            int i = sb.length() - 1;
+            for (; i >= start; i--) {
+                char digit = sb.charAt(i);
+                if (digit == '.') {
+                    continue;
+                }
+                if (digit < '9') {
+                    sb.setCharAt(i, (char) (digit + 1));
+                    break;
+                }
+                sb.setCharAt(i, '0');
+            }
+            if (i < start) {
+                sb.insert(start, '1');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Value with decimals and unit, e.g. "12.50 km"
+     */
+    public static String decimal(Double value, int decimals, String unit) {
+        return value != null ? decimal(value, decimals) + unit : NOT_AVAILABLE;
+    }
+
+    /**
+     * Whole number with unit, e.g. "90 min"
+     */
+    public static String whole(Integer value, String unit) {
+        return value != null ? value + unit : NOT_AVAILABLE;
+    }
+
+    public static String minutes(LocalDateTime time) {
+        return time != null ? MINUTES.format(time) : NOT_AVAILABLE;
+    }
+
+    public static String seconds(LocalDateTime time) {
+        return SECONDS.format(time);
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.tourplannerbackend.report;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.FontFactory;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+
+/**
+ * Fonts and cell templates of the PDF reports, created once.
+ * Fonts are only read while rendering, so they are shared by all reports. Table cells are styled through
+ * the table's default cell, which iText copies for every cell added as a phrase.
+ */
+public final class ReportStyles {
+
+    public static final Font TITLE = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, BaseColor.BLACK);
+    public static final Font GENERATED_ON = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.GRAY);
+    public static final Font SECTION = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, BaseColor.BLACK);
+    public static final Font LABEL = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, BaseColor.BLACK);
+    public static final Font VALUE = FontFactory.getFont(FontFactory.HELVETICA, 11, BaseColor.BLACK);
+    public static final Font NOTE = FontFactory.getFont(FontFactory.HELVETICA, 11, BaseColor.GRAY);
+    public static final Font HEADER = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.WHITE);
+    public static final Font CELL = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.BLACK);
+
+    private ReportStyles() {
+    }
+
+    public static Paragraph title(String text) {
+        Paragraph title = new Paragraph(text, TITLE);
+        title.setAlignment(Element.ALIGN_CENTER);
+        title.setSpacingAfter(20);
+        return title;
+    }
+
+    public static Paragraph generatedOn(String timestamp) {
+        Paragraph date = new Paragraph("Generated on: " + timestamp, GENERATED_ON);
+        date.setAlignment(Element.ALIGN_RIGHT);
+        date.setSpacingAfter(20);
+        return date;
+    }
+
+    public static Paragraph section(String text) {
+        Paragraph section = new Paragraph(text, SECTION);
+        section.setSpacingBefore(20);
+        section.setSpacingAfter(10);
+        return section;
+    }
+
+    /**
+     * Two borderless columns of labels and values
+     */
+    public static PdfPTable labelValueTable() {
+        PdfPTable table = new PdfPTable(2);
+        table.setWidthPercentage(100);
+        table.setSpacingAfter(15);
+        PdfPCell template = table.getDefaultCell();
+        template.setBorder(Rectangle.NO_BORDER);
+        template.setPaddingBottom(5);
+        return table;
+    }
+
+    public static void addLabelValue(PdfPTable table, String label, String value) {
+        table.addCell(new Phrase(label, LABEL));
+        table.addCell(new Phrase(value, VALUE));
+    }
+
+    /**
+     * Full-width data table with a styled header row that is repeated on every page
+     */
+    public static PdfPTable dataTable(float[] widths, String... headers) {
+        PdfPTable table = new PdfPTable(widths.length);
+        table.setWidthPercentage(100);
+        try {
+            table.setWidths(widths);
+        } catch (DocumentException e) {
+            throw new IllegalArgumentException("One width per column required", e);
+        }
+        table.setHeaderRows(1);
+        for (String header : headers) {
+            PdfPCell cell = new PdfPCell(new Phrase(header, HEADER));
+            cell.setBackgroundColor(BaseColor.DARK_GRAY);
+            cell.setPadding(8);
+            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+            table.addCell(cell);
+        }
+        PdfPCell template = table.getDefaultCell();
+        template.setPadding(5);
+        template.setBorderColor(BaseColor.LIGHT_GRAY);
+        return table;
+    }
+
+    public static void addDataCell(PdfPTable table, String text) {
+        table.addCell(new Phrase(text, CELL));
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.tourplannerbackend.repository;
+
+// Projection for the per-tour, per-day aggregate over tour_logs used to (re)build rollups
+public interface DailyLogAggregate extends DailyLogTotals {
+
+    Long getTourId();
+
+    String getTransportType();
+}
@@ -0,0 +1,27 @@
+package org.example.tourplannerbackend.repository;
+
+import java.time.LocalDate;
+
+// Projection for per-day log totals (count, sums and min/max)
+public interface DailyLogTotals {
+
+    LocalDate getLogDate();
+
+    Long getLogCount();
+
+    Double getDistanceSum();
+
+    Long getTimeSum();
+
+    Long getRatingSum();
+
+    Long getDifficultySum();
+
+    Double getMinDistance();
+
+    Double getMaxDistance();
+
+    Integer getMinTime();
+
+    Integer getMaxTime();
+}
@@ -0,0 +1,37 @@
+package org.example.tourplannerbackend.repository;
+
+import org.example.tourplannerbackend.entity.SyncChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SyncChangeRepository extends JpaRepository<SyncChange, Long> {
+
+    // Journal entries after the given sequence number, oldest first (primary key range scan)
+    @Query("SELECT c FROM SyncChange c WHERE c.id > :since ORDER BY c.id")
+    List<SyncChange> findChangesSince(@Param("since") Long since, Limit limit);
+
+    // Newest sequence number (0 for an empty journal); compaction removes entries but never lowers it
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM SyncChange c")
+    long findLatestId();
+
+    // Entries superseded by a newer entry for the same tour or log
+    @Modifying
+    @Query("DELETE FROM SyncChange c WHERE EXISTS (SELECT 1 FROM SyncChange n " +
+            "WHERE n.entityType = c.entityType AND n.entityId = c.entityId AND n.id > c.id)")
+    int deleteSuperseded();
+
+    // Log entries made obsolete by a later tombstone of their tour (deleting a tour deletes its logs)
+    @Modifying
+    @Query("DELETE FROM SyncChange c WHERE c.entityType = org.example.tourplannerbackend.entity.SyncChange.EntityType.LOG " +
+            "AND EXISTS (SELECT 1 FROM SyncChange t " +
+            "WHERE t.entityType = org.example.tourplannerbackend.entity.SyncChange.EntityType.TOUR " +
+            "AND t.entityId = c.tourId AND t.deleted = true AND t.id > c.id)")
+    int deleteLogsOfDeletedTours();
+}
@@ -0,0 +1,7 @@
+package org.example.tourplannerbackend.repository;
+
+// Projection for one row of the CSV export: a tour list row plus the description
+public interface TourExportRow extends TourListRow {
+
+    String getDescription();
+}
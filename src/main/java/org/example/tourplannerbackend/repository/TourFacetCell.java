@@ -0,0 +1,15 @@
+package org.example.tourplannerbackend.repository;
+
+// Projection for one cell of the facet cube: tour count per transport type and bucket combination
+public interface TourFacetCell {
+
+    String getTransportType();
+
+    Integer getDistanceBucket();
+
+    Integer getDurationBucket();
+
+    Integer getRatingBucket();
+
+    Long getTourCount();
+}
@@ -0,0 +1,29 @@
+package org.example.tourplannerbackend.repository;
+
+import java.time.LocalDateTime;
+
+// Projection for one row of the tour list: tour columns plus the log figures from the tour's log sketch
+public interface TourListRow {
+
+    Long getId();
+
+    String getName();
+
+    String getFromLocation();
+
+    String getToLocation();
+
+    String getTransportType();
+
+    Double getDistance();
+
+    Integer getEstimatedTime();
+
+    LocalDateTime getCreatedAt();
+
+    Long getLogCount();
+
+    Long getDifficultySum();
+
+    Long getTimeSum();
+}
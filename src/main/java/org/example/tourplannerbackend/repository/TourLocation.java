@@ -0,0 +1,5 @@
+package org.example.tourplannerbackend.repository;
+
+// Start coordinate of a tour: all a radius search needs to rank its candidates
+public record TourLocation(Long id, Double latitude, Double longitude) {
+}
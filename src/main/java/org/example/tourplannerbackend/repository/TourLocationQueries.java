@@ -0,0 +1,15 @@
+package org.example.tourplannerbackend.repository;
+
+import org.example.tourplannerbackend.entity.Tour;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Projection queries over dynamic specifications, which derived and @Query methods cannot express
+public interface TourLocationQueries {
+
+    /**
+     * Start coordinates of the tours matching the specification, without loading the tours
+     */
+    List<TourLocation> findStartLocations(Specification<Tour> spec);
+}
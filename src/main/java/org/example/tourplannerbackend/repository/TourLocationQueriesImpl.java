@@ -0,0 +1,34 @@
+package org.example.tourplannerbackend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.example.tourplannerbackend.entity.Tour;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Criteria implementation of TourLocationQueries, picked up as a fragment of TourRepository
+class TourLocationQueriesImpl implements TourLocationQueries {
+
+    private final EntityManager entityManager;
+
+    TourLocationQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TourLocation> findStartLocations(Specification<Tour> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TourLocation> query = cb.createQuery(TourLocation.class);
+        Root<Tour> root = query.from(Tour.class);
+        query.select(cb.construct(TourLocation.class,
+                        root.get("id"), root.get("fromLatitude"), root.get("fromLongitude")))
+                .where(spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                .getResultList();
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.tourplannerbackend.repository;
+
+import java.time.LocalDateTime;
+
+// Projection for the per-tour log aggregate query
+public interface TourLogAggregate {
+
+    Long getTourId();
+
+    String getTourName();
+
+    Long getTotalLogs();
+
+    Double getAverageDistance();
+
+    Double getAverageTime();
+
+    Double getAverageRating();
+
+    Double getAverageDifficulty();
+
+    LocalDateTime getFirstLogDate();
+
+    LocalDateTime getLastLogDate();
+}
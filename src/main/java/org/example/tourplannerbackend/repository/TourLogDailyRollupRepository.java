@@ -0,0 +1,67 @@
+package org.example.tourplannerbackend.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.tourplannerbackend.entity.TourLogDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TourLogDailyRollupRepository extends JpaRepository<TourLogDailyRollup, Long> {
+
+    // Rollup rows of a tour for the given days, locked; log writers and the rebuild hold the tour lock already
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<TourLogDailyRollup> findByTourIdAndLogDateIn(Long tourId, Collection<LocalDate> logDates);
+
+    @Modifying
+    @Query("DELETE FROM TourLogDailyRollup r WHERE r.tourId IN :tourIds")
+    int deleteByTourIdIn(@Param("tourIds") Collection<Long> tourIds);
+
+    // Rollups left behind by tours that no longer exist (drift repair)
+    @Modifying
+    @Query("DELETE FROM TourLogDailyRollup r WHERE NOT EXISTS (SELECT 1 FROM Tour t WHERE t.id = r.tourId)")
+    int deleteOrphans();
+
+    @Modifying
+    @Query("UPDATE TourLogDailyRollup r SET r.transportType = :transportType WHERE r.tourId = :tourId")
+    int updateTransportType(@Param("tourId") Long tourId, @Param("transportType") String transportType);
+
+    // Per-day totals of one tour (at most one row per day already)
+    @Query("SELECT r.logDate AS logDate, SUM(r.logCount) AS logCount, SUM(r.distanceSum) AS distanceSum, " +
+            "SUM(r.timeSum) AS timeSum, SUM(r.ratingSum) AS ratingSum, SUM(r.difficultySum) AS difficultySum, " +
+            "MIN(r.minDistance) AS minDistance, MAX(r.maxDistance) AS maxDistance, " +
+            "MIN(r.minTime) AS minTime, MAX(r.maxTime) AS maxTime " +
+            "FROM TourLogDailyRollup r WHERE r.tourId = :tourId AND r.logDate BETWEEN :from AND :to " +
+            "GROUP BY r.logDate ORDER BY r.logDate")
+    List<DailyLogTotals> findDailyTotalsByTour(@Param("tourId") Long tourId,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to);
+
+    // Per-day totals across all tours
+    @Query("SELECT r.logDate AS logDate, SUM(r.logCount) AS logCount, SUM(r.distanceSum) AS distanceSum, " +
+            "SUM(r.timeSum) AS timeSum, SUM(r.ratingSum) AS ratingSum, SUM(r.difficultySum) AS difficultySum, " +
+            "MIN(r.minDistance) AS minDistance, MAX(r.maxDistance) AS maxDistance, " +
+            "MIN(r.minTime) AS minTime, MAX(r.maxTime) AS maxTime " +
+            "FROM TourLogDailyRollup r WHERE r.logDate BETWEEN :from AND :to " +
+            "GROUP BY r.logDate ORDER BY r.logDate")
+    List<DailyLogTotals> findDailyTotals(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Per-day totals across all tours of one transport type
+    @Query("SELECT r.logDate AS logDate, SUM(r.logCount) AS logCount, SUM(r.distanceSum) AS distanceSum, " +
+            "SUM(r.timeSum) AS timeSum, SUM(r.ratingSum) AS ratingSum, SUM(r.difficultySum) AS difficultySum, " +
+            "MIN(r.minDistance) AS minDistance, MAX(r.maxDistance) AS maxDistance, " +
+            "MIN(r.minTime) AS minTime, MAX(r.maxTime) AS maxTime " +
+            "FROM TourLogDailyRollup r WHERE r.logDate BETWEEN :from AND :to " +
+            "AND LOWER(r.transportType) = LOWER(:transportType) " +
+            "GROUP BY r.logDate ORDER BY r.logDate")
+    List<DailyLogTotals> findDailyTotalsByTransportType(@Param("transportType") String transportType,
+                                                       @Param("from") LocalDate from,
+                                                       @Param("to") LocalDate to);
+}
@@ -0,0 +1,9 @@
+package org.example.tourplannerbackend.repository;
+
+// Projection: a tour log ID with the ID of its tour
+public interface TourLogKey {
+
+    Long getId();
+
+    Long getTourId();
+}
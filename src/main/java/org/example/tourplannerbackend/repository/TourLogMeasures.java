@@ -0,0 +1,15 @@
+package org.example.tourplannerbackend.repository;
+
+// Projection of the measured values of a tour log, used to (re)build distribution sketches
+public interface TourLogMeasures {
+
+    Long getTourId();
+
+    Double getTotalDistance();
+
+    Integer getTotalTime();
+
+    Integer getRating();
+
+    Integer getDifficulty();
+}
@@ -1,28 +1,51 @@
 // TourLog Repository
 package org.example.tourplannerbackend.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.tourplannerbackend.entity.TourLog;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TourLogRepository extends JpaRepository<TourLog, Long> {
 
+    // Log listings map the tour name of every log, so they fetch the tour in the same statement
+    @Override
+    @EntityGraph(TourLog.WITH_TOUR)
+    List<TourLog> findAllById(Iterable<Long> ids);
+
     // Find all logs for a specific tour
+    @EntityGraph(TourLog.WITH_TOUR)
     List<TourLog> findByTourIdOrderByDateDesc(Long tourId);
 
+    // Delete all logs of the given tours in one statement instead of loading and deleting them one by one
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM TourLog tl WHERE tl.tour.id IN :tourIds")
+    int deleteByTourIdIn(@Param("tourIds") Collection<Long> tourIds);
+
     // Find logs by tour and date range
+    @EntityGraph(TourLog.WITH_TOUR)
     List<TourLog> findByTourIdAndDateBetween(Long tourId, LocalDateTime startDate, LocalDateTime endDate);
 
     // Find logs by difficulty range
+    @EntityGraph(TourLog.WITH_TOUR)
     List<TourLog> findByTourIdAndDifficultyBetween(Long tourId, Integer minDifficulty, Integer maxDifficulty);
 
     // Find logs by rating
+    @EntityGraph(TourLog.WITH_TOUR)
     List<TourLog> findByTourIdAndRating(Long tourId, Integer rating);
 
     // Statistical queries for summary reports
@@ -38,15 +61,82 @@ public interface TourLogRepository extends JpaRepository<TourLog, Long> {
     @Query("SELECT AVG(tl.difficulty) FROM TourLog tl WHERE tl.tour.id = :tourId")
     Double findAverageDifficultyByTour(@Param("tourId") Long tourId);
 
+    // Single-pass summary: count, averages and first/last log date (empty if the tour does not exist)
+    @Query("SELECT t.id AS tourId, t.name AS tourName, COUNT(tl) AS totalLogs, " +
+            "AVG(tl.totalDistance) AS averageDistance, AVG(tl.totalTime) AS averageTime, " +
+            "AVG(tl.rating) AS averageRating, AVG(tl.difficulty) AS averageDifficulty, " +
+            "MIN(tl.date) AS firstLogDate, MAX(tl.date) AS lastLogDate " +
+            "FROM Tour t LEFT JOIN t.tourLogs tl WHERE t.id = :tourId GROUP BY t.id, t.name")
+    Optional<TourLogAggregate> findLogAggregateByTour(@Param("tourId") Long tourId);
+
+    // Per-day aggregates of one tour's logs in [start, end), used to recompute rollups after updates/deletes
+    @Query("SELECT t.id AS tourId, t.transportType AS transportType, CAST(tl.date AS LocalDate) AS logDate, " +
+            "COUNT(tl) AS logCount, SUM(tl.totalDistance) AS distanceSum, SUM(tl.totalTime) AS timeSum, " +
+            "SUM(tl.rating) AS ratingSum, SUM(tl.difficulty) AS difficultySum, " +
+            "MIN(tl.totalDistance) AS minDistance, MAX(tl.totalDistance) AS maxDistance, " +
+            "MIN(tl.totalTime) AS minTime, MAX(tl.totalTime) AS maxTime " +
+            "FROM TourLog tl JOIN tl.tour t WHERE t.id = :tourId AND tl.date >= :start AND tl.date < :end " +
+            "GROUP BY t.id, t.transportType, CAST(tl.date AS LocalDate)")
+    List<DailyLogAggregate> findDailyAggregatesByTour(@Param("tourId") Long tourId,
+                                                      @Param("start") LocalDateTime start,
+                                                      @Param("end") LocalDateTime end);
+
+    // Per-day aggregates of the given tours' logs (rollup rebuild, one chunk of tours at a time)
+    @Query("SELECT t.id AS tourId, t.transportType AS transportType, CAST(tl.date AS LocalDate) AS logDate, " +
+            "COUNT(tl) AS logCount, SUM(tl.totalDistance) AS distanceSum, SUM(tl.totalTime) AS timeSum, " +
+            "SUM(tl.rating) AS ratingSum, SUM(tl.difficulty) AS difficultySum, " +
+            "MIN(tl.totalDistance) AS minDistance, MAX(tl.totalDistance) AS maxDistance, " +
+            "MIN(tl.totalTime) AS minTime, MAX(tl.totalTime) AS maxTime " +
+            "FROM TourLog tl JOIN tl.tour t WHERE t.id IN :tourIds " +
+            "GROUP BY t.id, t.transportType, CAST(tl.date AS LocalDate)")
+    List<DailyLogAggregate> findDailyAggregatesByTourIdIn(@Param("tourIds") Collection<Long> tourIds);
+
+    // Measured values of one tour's logs, used to rebuild its distribution sketch
+    @Query("SELECT tl.tour.id AS tourId, tl.totalDistance AS totalDistance, tl.totalTime AS totalTime, " +
+            "tl.rating AS rating, tl.difficulty AS difficulty FROM TourLog tl WHERE tl.tour.id = :tourId")
+    List<TourLogMeasures> findMeasuresByTour(@Param("tourId") Long tourId);
+
+    // Measured values of all logs grouped by tour, used to backfill the distribution sketches
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT tl.tour.id AS tourId, tl.totalDistance AS totalDistance, tl.totalTime AS totalTime, " +
+            "tl.rating AS rating, tl.difficulty AS difficulty FROM TourLog tl ORDER BY tl.tour.id")
+    Stream<TourLogMeasures> streamAllMeasures();
+
+    // IDs of all logs with their tour, used to seed the sync journal
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT tl.id AS id, tl.tour.id AS tourId FROM TourLog tl ORDER BY tl.id")
+    Stream<TourLogKey> streamAllKeys();
+
     // Count logs per tour
     @Query("SELECT COUNT(tl) FROM TourLog tl WHERE tl.tour.id = :tourId")
     Long countLogsByTour(@Param("tourId") Long tourId);
 
-    // Find recent logs across all tours
-    @Query("SELECT tl FROM TourLog tl ORDER BY tl.date DESC")
-    List<TourLog> findRecentLogs();
+    // Newest logs of one tour (range scan on the tour/date index with a database-side limit)
+    @Query("SELECT tl FROM TourLog tl WHERE tl.tour.id = :tourId ORDER BY tl.date DESC, tl.id DESC")
+    @EntityGraph(TourLog.WITH_TOUR)
+    List<TourLog> findNewestByTour(@Param("tourId") Long tourId, Limit limit);
+
+    // Find recent logs across all tours (first page of the keyset feed, tour fetched in the same query)
+    @Query("SELECT tl FROM TourLog tl JOIN FETCH tl.tour ORDER BY tl.date DESC, tl.id DESC")
+    List<TourLog> findRecentLogs(Limit limit);
+
+    // Next page of the recent logs feed: logs strictly older than the (date, id) cursor
+    @Query("SELECT tl FROM TourLog tl JOIN FETCH tl.tour " +
+            "WHERE tl.date < :date OR (tl.date = :date AND tl.id < :id) " +
+            "ORDER BY tl.date DESC, tl.id DESC")
+    List<TourLog> findRecentLogsBefore(@Param("date") LocalDateTime date, @Param("id") Long id, Limit limit);
 
     // Search in tour log comments
     @Query("SELECT tl FROM TourLog tl WHERE LOWER(tl.comment) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    @EntityGraph(TourLog.WITH_TOUR)
     List<TourLog> findByCommentContaining(@Param("searchTerm") String searchTerm);
-}
\ No newline at end of file
+
+    // Streaming variant of the comment search (read-only, bypassing the second-level cache)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT tl FROM TourLog tl JOIN FETCH tl.tour WHERE LOWER(tl.comment) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    Stream<TourLog> streamByCommentContaining(@Param("searchTerm") String searchTerm);
+}
@@ -0,0 +1,32 @@
+package org.example.tourplannerbackend.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.tourplannerbackend.entity.TourLogSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TourLogSketchRepository extends JpaRepository<TourLogSketch, Long> {
+
+    // Sketch of a tour, locked so concurrent log writes update it one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TourLogSketch s WHERE s.tourId = :tourId")
+    Optional<TourLogSketch> findForUpdate(@Param("tourId") Long tourId);
+
+    // Sketches of tours that no longer have any logs
+    @Modifying
+    @Query("DELETE FROM TourLogSketch s WHERE s.tourId NOT IN (SELECT DISTINCT tl.tour.id FROM TourLog tl)")
+    int deleteWithoutLogs();
+
+    // Leaderboard scores of all tours with logs: one row per sketch, no log scan
+    @Query("SELECT t.id AS tourId, t.name AS tourName, t.transportType AS transportType, " +
+            "s.logCount AS logCount, s.ratingSum AS ratingSum FROM TourLogSketch s JOIN Tour t ON t.id = s.tourId")
+    List<TourScore> findAllScores();
+}
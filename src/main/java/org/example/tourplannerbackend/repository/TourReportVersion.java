@@ -0,0 +1,13 @@
+package org.example.tourplannerbackend.repository;
+
+import java.time.LocalDateTime;
+
+// Projection for the content version of a tour report: the tour's last change plus count and last change of its logs
+public interface TourReportVersion {
+
+    LocalDateTime getTourUpdatedAt();
+
+    Long getLogCount();
+
+    LocalDateTime getLastLogUpdatedAt();
+}
@@ -1,15 +1,63 @@
 package org.example.tourplannerbackend.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.example.tourplannerbackend.entity.Tour;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TourRepository extends JpaRepository<Tour, Long> {
+public interface TourRepository extends JpaRepository<Tour, Long>, JpaSpecificationExecutor<Tour>, TourLocationQueries {
+
+    // Every tour with its logs in one statement (full JSON export)
+    @EntityGraph(Tour.WITH_LOGS)
+    @Query("SELECT t FROM Tour t ORDER BY t.id")
+    List<Tour> findAllWithLogs();
+
+    // Tour row locked until the transaction ends. Log writes take it before writing anything, so the writes of one
+    // tour (its logs, daily rollups and sketch) run one after another; taken after a log insert, the foreign key
+    // check's share lock on the same row could deadlock two writers
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Tour t WHERE t.id = :id")
+    Optional<Tour> findByIdForUpdate(@Param("id") Long id);
+
+    // Several tour rows locked in ID order, so writers touching overlapping tours cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Tour t WHERE t.id IN :ids ORDER BY t.id")
+    List<Tour> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Tour count and averages over all tours (summary report header)
+    @Query("SELECT COUNT(t) AS tourCount, AVG(t.distance) AS averageDistance, " +
+            "AVG(t.estimatedTime) AS averageEstimatedTime FROM Tour t")
+    TourTotals findTotals();
+
+    // Everything a tour report shows changes one of these (log deletes change the count), so they identify its content
+    @Query("SELECT t.updatedAt AS tourUpdatedAt, COUNT(tl) AS logCount, MAX(tl.updatedAt) AS lastLogUpdatedAt " +
+            "FROM Tour t LEFT JOIN t.tourLogs tl WHERE t.id = :tourId GROUP BY t.id, t.updatedAt")
+    Optional<TourReportVersion> findReportVersion(@Param("tourId") Long tourId);
+
+    // Which of the given IDs exist (validation of bulk deletes without loading the tours)
+    @Query("SELECT t.id FROM Tour t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Set-based delete; the tours' logs have to be deleted first (TourLogRepository.deleteByTourIdIn)
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Tour t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 
     // Full-text search in tours (Must-Have requirement)
     @Query("SELECT DISTINCT t FROM Tour t LEFT JOIN t.tourLogs tl WHERE " +
@@ -19,39 +67,203 @@ public interface TourRepository extends JpaRepository<Tour, Long> {
             "LOWER(t.toLocation) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(t.transportType) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(tl.comment) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    @EntityGraph(Tour.WITH_LOGS)
     List<Tour> findBySearchTerm(@Param("searchTerm") String searchTerm);
 
+    // Every tour with its log sketch, streamed row by row (similarity index rebuild; read-only, bypassing the
+    // second-level cache)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT t AS tour, s AS sketch FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id ORDER BY t.id")
+    Stream<TourWithSketch> streamWithSketches();
+
+    // The given tours with their log sketches in one statement (similarity index refresh, sync pages)
+    @Query("SELECT t AS tour, s AS sketch FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id WHERE t.id IN :ids")
+    List<TourWithSketch> findWithSketchesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Tour list rows: one row per tour, popularity and child-friendliness from its sketch, so no log is read
+    @Query("SELECT t.id AS id, t.name AS name, t.fromLocation AS fromLocation, t.toLocation AS toLocation, " +
+            "t.transportType AS transportType, t.distance AS distance, t.estimatedTime AS estimatedTime, " +
+            "t.createdAt AS createdAt, COALESCE(s.logCount, 0) AS logCount, " +
+            "COALESCE(s.difficultySum, 0) AS difficultySum, COALESCE(s.timeSum, 0) AS timeSum " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id ORDER BY t.id")
+    List<TourListRow> findListRows();
+
+    // Same, streamed row by row
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.id AS id, t.name AS name, t.fromLocation AS fromLocation, t.toLocation AS toLocation, " +
+            "t.transportType AS transportType, t.distance AS distance, t.estimatedTime AS estimatedTime, " +
+            "t.createdAt AS createdAt, COALESCE(s.logCount, 0) AS logCount, " +
+            "COALESCE(s.difficultySum, 0) AS difficultySum, COALESCE(s.timeSum, 0) AS timeSum " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id ORDER BY t.id")
+    Stream<TourListRow> streamListRows();
+
+    // CSV export rows: list columns plus the description, log figures from the sketch
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.id AS id, t.name AS name, t.description AS description, t.fromLocation AS fromLocation, " +
+            "t.toLocation AS toLocation, t.transportType AS transportType, t.distance AS distance, " +
+            "t.estimatedTime AS estimatedTime, t.createdAt AS createdAt, COALESCE(s.logCount, 0) AS logCount, " +
+            "COALESCE(s.difficultySum, 0) AS difficultySum, COALESCE(s.timeSum, 0) AS timeSum " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id ORDER BY t.id")
+    Stream<TourExportRow> streamExportRows();
+
+    // Summary report rows: one row per tour, log figures from its sketch, so no log is read
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.name AS name, t.fromLocation AS fromLocation, t.toLocation AS toLocation, " +
+            "t.distance AS distance, t.estimatedTime AS estimatedTime, " +
+            "COALESCE(s.logCount, 0) AS logCount, COALESCE(s.ratingSum, 0) AS ratingSum " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id ORDER BY t.id")
+    Stream<TourSummaryRow> streamSummaryRows();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.id FROM Tour t ORDER BY t.id")
+    Stream<Long> streamAllIds();
+
+    @Query("SELECT t.id FROM Tour t ORDER BY t.id")
+    List<Long> findAllIds();
+
     // Search in computed attributes as well
     @Query("SELECT t FROM Tour t WHERE " +
             "CAST(SIZE(t.tourLogs) AS STRING) LIKE CONCAT('%', :searchTerm, '%')")
+    @EntityGraph(Tour.WITH_LOGS)
     List<Tour> findByPopularity(@Param("searchTerm") String searchTerm);
 
-    // Find tours by transport type
-    List<Tour> findByTransportTypeIgnoreCase(String transportType);
+    // Find tours by transport type (query cache, invalidated on any tours or sketch table write)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT t.id AS id, t.name AS name, t.fromLocation AS fromLocation, t.toLocation AS toLocation, " +
+            "t.transportType AS transportType, t.distance AS distance, t.estimatedTime AS estimatedTime, " +
+            "t.createdAt AS createdAt, COALESCE(s.logCount, 0) AS logCount, " +
+            "COALESCE(s.difficultySum, 0) AS difficultySum, COALESCE(s.timeSum, 0) AS timeSum " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id " +
+            "WHERE LOWER(t.transportType) = LOWER(:transportType) ORDER BY t.id")
+    List<TourListRow> findListRowsByTransportType(@Param("transportType") String transportType);
 
     // Find tours by location
-    @Query("SELECT t FROM Tour t WHERE " +
-            "LOWER(t.fromLocation) LIKE LOWER(CONCAT('%', :location, '%')) OR " +
-            "LOWER(t.toLocation) LIKE LOWER(CONCAT('%', :location, '%'))")
-    List<Tour> findByLocation(@Param("location") String location);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT t.id AS id, t.name AS name, t.fromLocation AS fromLocation, t.toLocation AS toLocation, " +
+            "t.transportType AS transportType, t.distance AS distance, t.estimatedTime AS estimatedTime, " +
+            "t.createdAt AS createdAt, COALESCE(s.logCount, 0) AS logCount, " +
+            "COALESCE(s.difficultySum, 0) AS difficultySum, COALESCE(s.timeSum, 0) AS timeSum " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id " +
+            "WHERE LOWER(t.fromLocation) LIKE LOWER(CONCAT('%', :location, '%')) OR " +
+            "LOWER(t.toLocation) LIKE LOWER(CONCAT('%', :location, '%')) ORDER BY t.id")
+    List<TourListRow> findListRowsByLocation(@Param("location") String location);
 
     // Find tours with specific distance range
-    List<Tour> findByDistanceBetween(Double minDistance, Double maxDistance);
+    @Query("SELECT t.id AS id, t.name AS name, t.fromLocation AS fromLocation, t.toLocation AS toLocation, " +
+            "t.transportType AS transportType, t.distance AS distance, t.estimatedTime AS estimatedTime, " +
+            "t.createdAt AS createdAt, COALESCE(s.logCount, 0) AS logCount, " +
+            "COALESCE(s.difficultySum, 0) AS difficultySum, COALESCE(s.timeSum, 0) AS timeSum " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id " +
+            "WHERE t.distance BETWEEN :minDistance AND :maxDistance ORDER BY t.id")
+    List<TourListRow> findListRowsByDistanceBetween(@Param("minDistance") Double minDistance,
+                                                    @Param("maxDistance") Double maxDistance);
 
     // Find tours with specific time range
-    List<Tour> findByEstimatedTimeBetween(Integer minTime, Integer maxTime);
+    @Query("SELECT t.id AS id, t.name AS name, t.fromLocation AS fromLocation, t.toLocation AS toLocation, " +
+            "t.transportType AS transportType, t.distance AS distance, t.estimatedTime AS estimatedTime, " +
+            "t.createdAt AS createdAt, COALESCE(s.logCount, 0) AS logCount, " +
+            "COALESCE(s.difficultySum, 0) AS difficultySum, COALESCE(s.timeSum, 0) AS timeSum " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id " +
+            "WHERE t.estimatedTime BETWEEN :minTime AND :maxTime ORDER BY t.id")
+    List<TourListRow> findListRowsByEstimatedTimeBetween(@Param("minTime") Integer minTime,
+                                                         @Param("maxTime") Integer maxTime);
 
-    // Custom query for comprehensive search including computed values
-    @Query("SELECT DISTINCT t FROM Tour t LEFT JOIN t.tourLogs tl WHERE " +
-            "LOWER(t.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+    // List rows of the given tours (the page of a radius search)
+    @Query("SELECT t.id AS id, t.name AS name, t.fromLocation AS fromLocation, t.toLocation AS toLocation, " +
+            "t.transportType AS transportType, t.distance AS distance, t.estimatedTime AS estimatedTime, " +
+            "t.createdAt AS createdAt, COALESCE(s.logCount, 0) AS logCount, " +
+            "COALESCE(s.difficultySum, 0) AS difficultySum, COALESCE(s.timeSum, 0) AS timeSum " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id " +
+            "WHERE t.id IN :ids")
+    List<TourListRow> findListRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Tours starting inside a lat/lon bounding box (uses the from_latitude/from_longitude index)
+    @Query("SELECT t.id AS id, t.name AS name, t.fromLocation AS fromLocation, t.toLocation AS toLocation, " +
+            "t.transportType AS transportType, t.distance AS distance, t.estimatedTime AS estimatedTime, " +
+            "t.createdAt AS createdAt, COALESCE(s.logCount, 0) AS logCount, " +
+            "COALESCE(s.difficultySum, 0) AS difficultySum, COALESCE(s.timeSum, 0) AS timeSum " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id " +
+            "WHERE t.fromLatitude BETWEEN :minLat AND :maxLat AND " +
+            "t.fromLongitude BETWEEN :minLon AND :maxLon " +
+            "ORDER BY t.id")
+    List<TourListRow> findByStartWithinBox(@Param("minLat") Double minLat, @Param("minLon") Double minLon,
+                                           @Param("maxLat") Double maxLat, @Param("maxLon") Double maxLon,
+                                           Pageable pageable);
+
+    // Comprehensive search including computed values; log comments are matched with EXISTS, so every tour is
+    // one row and nothing has to be de-duplicated, and popularity comes from the sketch
+    @Query("SELECT t.id AS id, t.name AS name, t.fromLocation AS fromLocation, t.toLocation AS toLocation, " +
+            "t.transportType AS transportType, t.distance AS distance, t.estimatedTime AS estimatedTime, " +
+            "t.createdAt AS createdAt, COALESCE(s.logCount, 0) AS logCount, " +
+            "COALESCE(s.difficultySum, 0) AS difficultySum, COALESCE(s.timeSum, 0) AS timeSum " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id " +
+            "WHERE LOWER(t.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(t.fromLocation) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(t.toLocation) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(t.transportType) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(tl.comment) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "EXISTS (SELECT 1 FROM TourLog tl WHERE tl.tour = t AND LOWER(tl.comment) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) OR " +
             "CAST(t.distance AS STRING) LIKE CONCAT('%', :searchTerm, '%') OR " +
             "CAST(t.estimatedTime AS STRING) LIKE CONCAT('%', :searchTerm, '%') OR " +
-            "CAST(SIZE(t.tourLogs) AS STRING) LIKE CONCAT('%', :searchTerm, '%')")
-    List<Tour> findByComprehensiveSearch(@Param("searchTerm") String searchTerm);
-}
+            "CAST(COALESCE(s.logCount, 0) AS STRING) LIKE CONCAT('%', :searchTerm, '%') " +
+            "ORDER BY t.id")
+    List<TourListRow> findListRowsByComprehensiveSearch(@Param("searchTerm") String searchTerm);
+
+    // Streaming variant of the comprehensive search: rows arrive as the database finds them
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.id AS id, t.name AS name, t.fromLocation AS fromLocation, t.toLocation AS toLocation, " +
+            "t.transportType AS transportType, t.distance AS distance, t.estimatedTime AS estimatedTime, " +
+            "t.createdAt AS createdAt, COALESCE(s.logCount, 0) AS logCount, " +
+            "COALESCE(s.difficultySum, 0) AS difficultySum, COALESCE(s.timeSum, 0) AS timeSum " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id " +
+            "WHERE LOWER(t.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(t.fromLocation) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(t.toLocation) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(t.transportType) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "EXISTS (SELECT 1 FROM TourLog tl WHERE tl.tour = t AND LOWER(tl.comment) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) OR " +
+            "CAST(t.distance AS STRING) LIKE CONCAT('%', :searchTerm, '%') OR " +
+            "CAST(t.estimatedTime AS STRING) LIKE CONCAT('%', :searchTerm, '%') OR " +
+            "CAST(COALESCE(s.logCount, 0) AS STRING) LIKE CONCAT('%', :searchTerm, '%') " +
+            "ORDER BY t.id")
+    Stream<TourListRow> streamListRowsByComprehensiveSearch(@Param("searchTerm") String searchTerm);
+
+    // Facet counts (bucket boundaries mirror TourService facet labels) for all tours, in one grouped pass
+    @Query("SELECT t.transportType AS transportType, " +
+            "CASE WHEN t.distance IS NULL THEN -1 WHEN t.distance < 10 THEN 0 WHEN t.distance < 50 THEN 1 " +
+            "WHEN t.distance < 100 THEN 2 WHEN t.distance < 250 THEN 3 ELSE 4 END AS distanceBucket, " +
+            "CASE WHEN t.estimatedTime IS NULL THEN -1 WHEN t.estimatedTime < 60 THEN 0 WHEN t.estimatedTime < 180 THEN 1 " +
+            "WHEN t.estimatedTime < 360 THEN 2 WHEN t.estimatedTime < 720 THEN 3 ELSE 4 END AS durationBucket, " +
+            "CASE WHEN s.logCount IS NULL OR s.logCount = 0 THEN -1 WHEN s.ratingSum < 2 * s.logCount THEN 0 " +
+            "WHEN s.ratingSum < 3 * s.logCount THEN 1 WHEN s.ratingSum < 4 * s.logCount THEN 2 ELSE 3 END AS ratingBucket, " +
+            "COUNT(t) AS tourCount " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id " +
+            "GROUP BY transportType, distanceBucket, durationBucket, ratingBucket")
+    List<TourFacetCell> findFacetCells();
 
+    // Facet counts for the tours matching the comprehensive search, in one grouped pass
+    @Query("SELECT t.transportType AS transportType, " +
+            "CASE WHEN t.distance IS NULL THEN -1 WHEN t.distance < 10 THEN 0 WHEN t.distance < 50 THEN 1 " +
+            "WHEN t.distance < 100 THEN 2 WHEN t.distance < 250 THEN 3 ELSE 4 END AS distanceBucket, " +
+            "CASE WHEN t.estimatedTime IS NULL THEN -1 WHEN t.estimatedTime < 60 THEN 0 WHEN t.estimatedTime < 180 THEN 1 " +
+            "WHEN t.estimatedTime < 360 THEN 2 WHEN t.estimatedTime < 720 THEN 3 ELSE 4 END AS durationBucket, " +
+            "CASE WHEN s.logCount IS NULL OR s.logCount = 0 THEN -1 WHEN s.ratingSum < 2 * s.logCount THEN 0 " +
+            "WHEN s.ratingSum < 3 * s.logCount THEN 1 WHEN s.ratingSum < 4 * s.logCount THEN 2 ELSE 3 END AS ratingBucket, " +
+            "COUNT(t) AS tourCount " +
+            "FROM Tour t LEFT JOIN TourLogSketch s ON s.tourId = t.id " +
+            "WHERE LOWER(t.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(t.fromLocation) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(t.toLocation) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(t.transportType) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "EXISTS (SELECT 1 FROM TourLog tl WHERE tl.tour = t AND LOWER(tl.comment) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) OR " +
+            "CAST(t.distance AS STRING) LIKE CONCAT('%', :searchTerm, '%') OR " +
+            "CAST(t.estimatedTime AS STRING) LIKE CONCAT('%', :searchTerm, '%') OR " +
+            "CAST(SIZE(t.tourLogs) AS STRING) LIKE CONCAT('%', :searchTerm, '%') " +
+            "GROUP BY transportType, distanceBucket, durationBucket, ratingBucket")
+    List<TourFacetCell> findFacetCellsBySearchTerm(@Param("searchTerm") String searchTerm);
+}
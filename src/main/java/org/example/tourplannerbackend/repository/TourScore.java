@@ -0,0 +1,15 @@
+package org.example.tourplannerbackend.repository;
+
+// Projection of a tour's leaderboard scores (from its distribution sketch)
+public interface TourScore {
+
+    Long getTourId();
+
+    String getTourName();
+
+    String getTransportType();
+
+    Long getLogCount();
+
+    Long getRatingSum();
+}
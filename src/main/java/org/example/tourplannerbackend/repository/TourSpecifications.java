@@ -0,0 +1,35 @@
+package org.example.tourplannerbackend.repository;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.geo.GeoHash;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Dynamic query building blocks for TourRepository
+public final class TourSpecifications {
+
+    private TourSpecifications() {
+    }
+
+    /**
+     * Tours whose start geohash lies in one of the given cells.
+     * Each cell becomes a half-open string range, so the lookup is a set of B-tree range scans.
+     */
+    public static Specification<Tour> startsInGeohashCells(List<String> cells) {
+        return (root, query, cb) -> {
+            Path<String> geohash = root.get("fromGeohash");
+            List<Predicate> ranges = new ArrayList<>();
+            for (String cell : cells) {
+                String upperBound = GeoHash.upperBound(cell);
+                ranges.add(upperBound != null ?
+                        cb.and(cb.greaterThanOrEqualTo(geohash, cell), cb.lessThan(geohash, upperBound)) :
+                        cb.greaterThanOrEqualTo(geohash, cell));
+            }
+            return cb.or(ranges.toArray(new Predicate[0]));
+        };
+    }
+}
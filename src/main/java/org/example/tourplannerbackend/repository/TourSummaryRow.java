@@ -0,0 +1,19 @@
+package org.example.tourplannerbackend.repository;
+
+// Projection for one row of the summary report: tour columns plus log count and rating sum from the tour's log sketch
+public interface TourSummaryRow {
+
+    String getName();
+
+    String getFromLocation();
+
+    String getToLocation();
+
+    Double getDistance();
+
+    Integer getEstimatedTime();
+
+    Long getLogCount();
+
+    Long getRatingSum();
+}
@@ -0,0 +1,11 @@
+package org.example.tourplannerbackend.repository;
+
+// Projection for the overall numbers of the summary report, computed in one aggregate query
+public interface TourTotals {
+
+    Long getTourCount();
+
+    Double getAverageDistance();
+
+    Double getAverageEstimatedTime();
+}
@@ -0,0 +1,12 @@
+package org.example.tourplannerbackend.repository;
+
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.entity.TourLogSketch;
+
+// Projection of a tour joined to its log sketch; the sketch is null for tours without logs
+public interface TourWithSketch {
+
+    Tour getTour();
+
+    TourLogSketch getSketch();
+}
@@ -0,0 +1,169 @@
+package org.example.tourplannerbackend.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.example.tourplannerbackend.dto.BulkItemResultDto;
+import org.example.tourplannerbackend.dto.BulkResultDto;
+import org.example.tourplannerbackend.dto.BulkUpdateItemDto;
+import org.example.tourplannerbackend.exception.BadRequestException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates every item of a bulk request up front and builds the per-item results.
+ * Bulk writes are all-or-nothing: one invalid item rejects the whole request.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkRequestValidator {
+
+    public static final int MAX_BULK_ITEMS = 1000;
+
+    private final Validator validator;
+
+    public void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Bulk request must contain at least one item");
+        }
+        if (items.size() > MAX_BULK_ITEMS) {
+            throw new BadRequestException("Bulk request must not contain more than " + MAX_BULK_ITEMS + " items");
+        }
+    }
+
+    /**
+     * Bean-validate a single item; empty map if it is valid
+     */
+    public Map<String, String> validate(Object item) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (item == null) {
+            errors.put("item", "Item is required");
+            return errors;
+        }
+        for (ConstraintViolation<Object> violation : validator.validate(item)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    /**
+     * Validate all items of a bulk create; returns the failures by index
+     */
+    public Map<Integer, BulkItemResultDto> validateCreates(List<?> items) {
+        Map<Integer, BulkItemResultDto> failures = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            Map<String, String> errors = validate(items.get(i));
+            if (!errors.isEmpty()) {
+                failures.put(i, invalid(i, null, errors));
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Validate all items of a bulk update against the IDs that exist; returns the failures by index
+     */
+    public Map<Integer, BulkItemResultDto> validateUpdates(List<? extends BulkUpdateItemDto<?>> items, Set<Long> existingIds) {
+        Map<Integer, BulkItemResultDto> failures = new LinkedHashMap<>();
+        Set<Long> seenIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkUpdateItemDto<?> item = items.get(i);
+            if (item == null || item.getId() == null) {
+                failures.put(i, invalid(i, null, Map.of("id", "ID is required")));
+            } else if (!seenIds.add(item.getId())) {
+                failures.put(i, invalid(i, item.getId(), Map.of("id", "Duplicate ID in request")));
+            } else if (!existingIds.contains(item.getId())) {
+                failures.put(i, BulkItemResultDto.builder()
+                        .index(i)
+                        .id(item.getId())
+                        .status(BulkItemResultDto.Status.NOT_FOUND)
+                        .build());
+            } else {
+                Map<String, String> errors = validate(item.getData());
+                if (!errors.isEmpty()) {
+                    failures.put(i, invalid(i, item.getId(), errors));
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Validate the IDs of a bulk delete against the IDs that exist; returns the failures by index
+     */
+    public Map<Integer, BulkItemResultDto> validateDeletes(List<Long> ids, Set<Long> existingIds) {
+        Map<Integer, BulkItemResultDto> failures = new LinkedHashMap<>();
+        Set<Long> seenIds = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                failures.put(i, invalid(i, null, Map.of("id", "ID is required")));
+            } else if (!seenIds.add(id)) {
+                failures.put(i, invalid(i, id, Map.of("id", "Duplicate ID in request")));
+            } else if (!existingIds.contains(id)) {
+                failures.put(i, BulkItemResultDto.builder()
+                        .index(i)
+                        .id(id)
+                        .status(BulkItemResultDto.Status.NOT_FOUND)
+                        .build());
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Per-item results for a rejected request: failing items carry their status and errors,
+     * all others are reported as skipped
+     */
+    public BulkResultDto rejected(int total, Map<Integer, BulkItemResultDto> failures) {
+        List<BulkItemResultDto> items = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            BulkItemResultDto failure = failures.get(i);
+            items.add(failure != null ? failure : BulkItemResultDto.builder()
+                    .index(i)
+                    .status(BulkItemResultDto.Status.SKIPPED)
+                    .build());
+        }
+        return BulkResultDto.builder()
+                .total(total)
+                .succeeded(0)
+                .failed(failures.size())
+                .items(items)
+                .build();
+    }
+
+    /**
+     * Per-item results for a request whose items were all written
+     */
+    public BulkResultDto succeeded(List<Long> ids, BulkItemResultDto.Status status) {
+        List<BulkItemResultDto> items = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            items.add(BulkItemResultDto.builder()
+                    .index(i)
+                    .id(ids.get(i))
+                    .status(status)
+                    .build());
+        }
+        return BulkResultDto.builder()
+                .total(ids.size())
+                .succeeded(ids.size())
+                .failed(0)
+                .items(items)
+                .build();
+    }
+
+    private BulkItemResultDto invalid(int index, Long id, Map<String, String> errors) {
+        return BulkItemResultDto.builder()
+                .index(index)
+                .id(id)
+                .status(BulkItemResultDto.Status.INVALID)
+                .errors(errors)
+                .build();
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.tourplannerbackend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.dto.ChangeEventDto;
+import org.example.tourplannerbackend.dto.ChangeEventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events change feed for tours and logs.
+ * Events are broadcast only after the publishing transaction commits. Publishing never blocks:
+ * every subscriber has a bounded queue that a small shared sender pool drains, so idle subscribers
+ * hold no thread. A subscriber whose queue overflows is disconnected and has to resync on reconnect.
+ */
+@Service
+@Slf4j
+public class ChangeFeedService {
+
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final ExecutorService sender;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ChangeFeedService(@Value("${tourplanner.events.buffer-size:256}") int bufferSize,
+                             @Value("${tourplanner.events.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${tourplanner.events.sender-threads:4}") int senderThreads) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Register a new subscriber; the emitter completes on timeout, client disconnect or overflow
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        // Sent right away so the client (and any proxy) sees the stream is open
+        subscriber.offer(SseEmitter.event().comment("connected"));
+        log.debug("Change feed subscriber added ({} active)", subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Announce a change to a single tour
+     */
+    public void tourChanged(ChangeEventType type, Long tourId) {
+        publish(type, List.of(tourId), null);
+    }
+
+    /**
+     * Announce a change to several tours (bulk writes and imports produce one event)
+     */
+    public void toursChanged(ChangeEventType type, List<Long> tourIds) {
+        if (!tourIds.isEmpty()) {
+            publish(type, List.copyOf(tourIds), null);
+        }
+    }
+
+    /**
+     * Announce a change to logs of the given tours
+     */
+    public void logsChanged(ChangeEventType type, List<Long> tourIds, List<Long> logIds) {
+        if (!logIds.isEmpty()) {
+            publish(type, tourIds.stream().distinct().toList(), List.copyOf(logIds));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Keep-alive comment; also detects subscribers whose connection is gone
+     */
+    @Scheduled(fixedDelayString = "${tourplanner.events.heartbeat-ms:30000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter.complete();
+        });
+        sender.shutdownNow();
+    }
+
+    private void publish(ChangeEventType type, List<Long> tourIds, List<Long> logIds) {
+        AfterCommit.run(() -> broadcast(type, tourIds, logIds));
+    }
+
+    private void broadcast(ChangeEventType type, List<Long> tourIds, List<Long> logIds) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // Numbered at commit time, so sequence order is commit order
+        ChangeEventDto event = ChangeEventDto.builder()
+                .sequence(sequence.incrementAndGet())
+                .type(type)
+                .tourIds(tourIds)
+                .logIds(logIds)
+                .timestamp(LocalDateTime.now())
+                .build();
+        // Builders are not thread safe; each subscriber gets its own
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event()
+                    .id(String.valueOf(event.getSequence()))
+                    .name(type.getEventName())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue; // linked, so empty queues cost nothing
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile boolean overflowed;
+        private volatile boolean completed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.queue = new LinkedBlockingQueue<>(bufferSize);
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.warn("Change feed subscriber too slow, dropping it after {} queued events", bufferSize);
+                overflowed = true;
+                close();
+            }
+            schedule();
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+                if (overflowed && !completed) {
+                    completed = true;
+                    queue.clear();
+                    emitter.complete(); // completed by the sender, so publishers never wait on a blocked write
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                completed = true;
+                close();
+                queue.clear();
+            } finally {
+                scheduled.set(false);
+            }
+            // Work that arrived while the flag was still set would otherwise wait for the next event
+            if (closed ? overflowed && !completed : !queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -1,53 +1,80 @@
 package org.example.tourplannerbackend.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.config.WireFormat;
+import org.example.tourplannerbackend.config.WireFormats;
+import org.example.tourplannerbackend.dto.BulkItemResultDto;
+import org.example.tourplannerbackend.dto.ChangeEventType;
+import org.example.tourplannerbackend.dto.ImportResultDto;
 import org.example.tourplannerbackend.dto.TourExportDto;
 import org.example.tourplannerbackend.entity.Tour;
 import org.example.tourplannerbackend.entity.TourLog;
+import org.example.tourplannerbackend.exception.BadRequestException;
 import org.example.tourplannerbackend.exception.ResourceNotFoundException;
+import org.example.tourplannerbackend.repository.TourExportRow;
 import org.example.tourplannerbackend.repository.TourRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ImportExportService {
 
+    // Failures beyond this many are counted but not listed in the import result
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
     private final TourRepository tourRepository;
-    private final ObjectMapper objectMapper;
+    private final WireFormats wireFormats;
+    private final TourImportWriter tourImportWriter;
+    private final BulkRequestValidator bulkRequestValidator;
+    private final ChangeFeedService changeFeedService;
+
+    @Value("${tourplanner.import.batch-size:500}")
+    private int batchSize;
 
     /**
-     * Export all tours to JSON format
+     * Export all tours to JSON (or Smile / CBOR)
      * Must-Have: Import/Export functionality
      */
     @Transactional(readOnly = true)
-    public byte[] exportToursToJson() {
-        log.info("Exporting all tours to JSON");
+    public byte[] exportTours(WireFormat format) {
+        log.info("Exporting all tours to {}", format);
 
         try {
-            List<Tour> tours = tourRepository.findAll();
+            List<Tour> tours = tourRepository.findAllWithLogs();
             List<TourExportDto> exportDtos = tours.stream()
                     .map(this::convertToExportDto)
                     .collect(Collectors.toList());
 
-            ObjectMapper mapper = createObjectMapper();
-            return mapper.writerWithDefaultPrettyPrinter()
-                    .writeValueAsBytes(exportDtos);
+            return exportWriter(format).writeValueAsBytes(exportDtos);
 
         } catch (Exception e) {
             log.error("Error exporting tours to JSON: {}", e.getMessage());
@@ -56,11 +83,11 @@ public class ImportExportService {
     }
 
     /**
-     * Export specific tour to JSON format
+     * Export specific tour to JSON (or Smile / CBOR)
      */
     @Transactional(readOnly = true)
-    public byte[] exportTourToJson(Long tourId) {
-        log.info("Exporting tour {} to JSON", tourId);
+    public byte[] exportTour(Long tourId, WireFormat format) {
+        log.info("Exporting tour {} to {}", tourId, format);
 
         try {
             Tour tour = tourRepository.findById(tourId)
@@ -68,9 +95,7 @@ public class ImportExportService {
 
             TourExportDto exportDto = convertToExportDto(tour);
 
-            ObjectMapper mapper = createObjectMapper();
-            return mapper.writerWithDefaultPrettyPrinter()
-                    .writeValueAsBytes(exportDto);
+            return exportWriter(format).writeValueAsBytes(exportDto);
 
         } catch (Exception e) {
             log.error("Error exporting tour {} to JSON: {}", tourId, e.getMessage());
@@ -79,39 +104,124 @@ public class ImportExportService {
     }
 
     /**
-     * Import tours from JSON file
+     * Import tours from a JSON (or Smile / CBOR) file
      * Must-Have: Import/Export functionality
      */
-    @Transactional
-    public int importToursFromJson(MultipartFile file) {
-        log.info("Importing tours from JSON file: {}", file.getOriginalFilename());
+    public ImportResultDto importTours(MultipartFile file, WireFormat format) {
+        return importTours(file, format, progress -> { });
+    }
 
-        try {
-            ObjectMapper mapper = createObjectMapper();
-            List<TourExportDto> exportDtos = mapper.readValue(
-                    file.getInputStream(),
-                    new TypeReference<List<TourExportDto>>() {}
-            );
-
-            int importedCount = 0;
-            for (TourExportDto dto : exportDtos) {
-                try {
-                    Tour tour = convertFromExportDto(dto);
-                    tourRepository.save(tour);
-                    importedCount++;
-                    log.debug("Imported tour: {}", tour.getName());
-                } catch (Exception e) {
-                    log.warn("Failed to import tour {}: {}", dto.getName(), e.getMessage());
+    /**
+     * Import tours from a JSON (or Smile / CBOR) file, reading one tour at a time.
+     * Every batch-size tours are committed together, so memory holds one batch whatever the file size.
+     * Records that cannot be mapped or are invalid are skipped and reported by their position in the file;
+     * progress goes to the listener after every batch. Malformed input ends the import, the tours read
+     * before it are kept.
+     */
+    public ImportResultDto importTours(MultipartFile file, WireFormat format, Consumer<ImportResultDto> progress) {
+        log.info("Importing tours from {} file: {}", format, file.getOriginalFilename());
+
+        ImportRun run = new ImportRun(file.getSize(), progress);
+        try (InputStream in = file.getInputStream();
+             JsonParser parser = wireFormats.mapper(format).createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("Import file must contain an array of tours");
+            }
+            ObjectReader reader = wireFormats.reader(format).forType(TourExportDto.class);
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new JsonEOFException(parser, null, "Unexpected end of input: tour array is not closed");
+                }
+                readRecord(reader, parser.readValueAsTree(), run);
+                if (run.pending.size() >= batchSize) {
+                    writeBatch(run);
+                    run.reportProgress(parser.currentLocation().getByteOffset());
                 }
             }
+        } catch (StreamReadException e) {
+            run.error = "Malformed input after record " + run.processed + ": " + e.getOriginalMessage();
+            log.warn("Import stopped, {}", run.error);
+        } catch (IOException e) {
+            log.error("Error importing tours: {}", e.getMessage());
+            throw new RuntimeException("Failed to import tours", e);
+        }
+        writeBatch(run);
+
+        log.info("Successfully imported {} out of {} tours", run.imported, run.processed);
+        return run.result();
+    }
 
-            log.info("Successfully imported {} out of {} tours", importedCount, exportDtos.size());
-            return importedCount;
+    // Map and validate one record; valid tours wait in the current batch
+    private void readRecord(ObjectReader reader, TreeNode node, ImportRun run) {
+        int index = run.processed++;
+        TourExportDto dto;
+        try {
+            dto = reader.treeToValue(node, TourExportDto.class);
+        } catch (JsonProcessingException e) {
+            run.fail(index, Map.of(fieldPath(e), e.getOriginalMessage()));
+            return;
+        }
+        if (dto != null && dto.getTourLogs() != null && dto.getTourLogs().contains(null)) {
+            run.fail(index, Map.of("tourLogs", "Tour log is required"));
+            return;
+        }
 
-        } catch (Exception e) {
-            log.error("Error importing tours from JSON: {}", e.getMessage());
-            throw new RuntimeException("Failed to import tours", e);
+        Tour tour = dto != null ? convertFromExportDto(dto) : null;
+        Map<String, String> errors = bulkRequestValidator.validate(tour);
+        if (tour != null) {
+            for (int i = 0; i < tour.getTourLogs().size(); i++) {
+                String prefix = "tourLogs[" + i + "].";
+                bulkRequestValidator.validate(tour.getTourLogs().get(i))
+                        .forEach((field, message) -> errors.putIfAbsent(prefix + field, message));
+            }
+        }
+        if (errors.isEmpty()) {
+            run.pending.add(new PendingTour(index, dto, tour));
+        } else {
+            run.fail(index, errors);
+        }
+    }
+
+    // Field a mapping error refers to, named like validation errors (e.g. tourLogs[0].rating)
+    private static String fieldPath(JsonProcessingException e) {
+        if (!(e instanceof JsonMappingException mappingError) || mappingError.getPath().isEmpty()) {
+            return "record";
+        }
+        StringBuilder path = new StringBuilder();
+        for (JsonMappingException.Reference reference : mappingError.getPath()) {
+            if (reference.getFieldName() == null) {
+                path.append('[').append(reference.getIndex()).append(']');
+            } else {
+                path.append(path.isEmpty() ? "" : ".").append(reference.getFieldName());
+            }
+        }
+        return path.toString();
+    }
+
+    private void writeBatch(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        List<PendingTour> batch = run.pending;
+        run.pending = new ArrayList<>(batchSize);
+
+        List<Long> importedIds = new ArrayList<>(batch.size());
+        try {
+            importedIds.addAll(tourImportWriter.insert(batch.stream().map(PendingTour::tour).toList()));
+        } catch (RuntimeException e) {
+            // A tour the database refuses rolls back its whole batch: retry the tours one by one
+            log.warn("Import batch of {} tours failed ({}), retrying them one by one", batch.size(), e.getMessage());
+            for (PendingTour pending : batch) {
+                try {
+                    importedIds.addAll(tourImportWriter.insert(List.of(convertFromExportDto(pending.dto()))));
+                } catch (RuntimeException tourError) {
+                    run.fail(pending.index(), Map.of("record", NestedExceptionUtils.getMostSpecificCause(tourError).getMessage()));
+                }
+            }
         }
+        run.imported += importedIds.size();
+        changeFeedService.toursChanged(ChangeEventType.TOUR_CREATED, importedIds);
     }
 
     /**
@@ -122,36 +232,43 @@ public class ImportExportService {
         log.info("Exporting tours to CSV");
 
         try {
-            List<Tour> tours = tourRepository.findAll();
-
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             OutputStreamWriter writer = new OutputStreamWriter(baos, StandardCharsets.UTF_8);
 
             // Write CSV header
             writer.write("ID,Name,Description,From,To,Transport Type,Distance (km),Estimated Time (min),Created At,Tour Logs Count,Popularity,Child Friendliness\n");
 
-            // Write data rows
-            for (Tour tour : tours) {
-                writer.write(String.format("%d,\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",%.2f,%d,\"%s\",%d,%d,%.2f\n",
-                        tour.getId(),
-                        escapeCsv(tour.getName()),
-                        escapeCsv(tour.getDescription()),
-                        escapeCsv(tour.getFromLocation()),
-                        escapeCsv(tour.getToLocation()),
-                        escapeCsv(tour.getTransportType()),
-                        tour.getDistance(),
-                        tour.getEstimatedTime(),
-                        tour.getCreatedAt().toString(),
-                        tour.getTourLogs().size(),
-                        tour.getPopularity(),
-                        tour.getChildFriendliness()
-                ));
+            // Write data rows; log figures come from the tours' sketches, so no log is read
+            int exported = 0;
+            try (Stream<TourExportRow> rows = tourRepository.streamExportRows()) {
+                Iterator<TourExportRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    TourExportRow row = iterator.next();
+                    long logCount = row.getLogCount();
+                    writer.write(String.format("%d,\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",%.2f,%d,\"%s\",%d,%d,%.2f\n",
+                            row.getId(),
+                            escapeCsv(row.getName()),
+                            escapeCsv(row.getDescription()),
+                            escapeCsv(row.getFromLocation()),
+                            escapeCsv(row.getToLocation()),
+                            escapeCsv(row.getTransportType()),
+                            row.getDistance(),
+                            row.getEstimatedTime(),
+                            row.getCreatedAt().toString(),
+                            logCount,
+                            logCount,
+                            logCount > 0 ?
+                                    Tour.childFriendliness((double) row.getDifficultySum() / logCount,
+                                            (double) row.getTimeSum() / logCount, row.getDistance()) : 0.0
+                    ));
+                    exported++;
+                }
             }
 
             writer.flush();
             writer.close();
 
-            log.info("Successfully exported {} tours to CSV", tours.size());
+            log.info("Successfully exported {} tours to CSV", exported);
             return baos.toByteArray();
 
         } catch (Exception e) {
@@ -174,6 +291,10 @@ public class ImportExportService {
                 .distance(tour.getDistance())
                 .estimatedTime(tour.getEstimatedTime())
                 .routeImagePath(tour.getRouteImagePath())
+                .fromLatitude(tour.getFromLatitude())
+                .fromLongitude(tour.getFromLongitude())
+                .toLatitude(tour.getToLatitude())
+                .toLongitude(tour.getToLongitude())
                 .createdAt(tour.getCreatedAt())
                 .updatedAt(tour.getUpdatedAt())
                 .tourLogs(tour.getTourLogs().stream()
@@ -213,6 +334,10 @@ public class ImportExportService {
         tour.setDistance(dto.getDistance());
         tour.setEstimatedTime(dto.getEstimatedTime());
         tour.setRouteImagePath(dto.getRouteImagePath());
+        tour.setFromLatitude(dto.getFromLatitude());
+        tour.setFromLongitude(dto.getFromLongitude());
+        tour.setToLatitude(dto.getToLatitude());
+        tour.setToLongitude(dto.getToLongitude());
 
         // Convert tour logs
         if (dto.getTourLogs() != null) {
@@ -236,13 +361,11 @@ public class ImportExportService {
     }
 
     /**
-     * Create ObjectMapper with proper configuration
+     * Shared writer for the format; JSON exports are pretty printed for humans
      */
-    private ObjectMapper createObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        return mapper;
+    private ObjectWriter exportWriter(WireFormat format) {
+        ObjectWriter writer = wireFormats.writer(format);
+        return format == WireFormat.JSON ? writer.withDefaultPrettyPrinter() : writer;
     }
 
     /**
@@ -254,4 +377,61 @@ public class ImportExportService {
         }
         return value.replace("\"", "\"\"");
     }
-}
\ No newline at end of file
+
+    // A valid record waiting for its batch; the DTO is kept to rebuild the tour if the batch is retried
+    private record PendingTour(int index, TourExportDto dto, Tour tour) {
+    }
+
+    // Counts and failures of one import
+    private static final class ImportRun {
+
+        private final long totalBytes;
+        private final Consumer<ImportResultDto> progress;
+        private final List<BulkItemResultDto> failures = new ArrayList<>();
+        private List<PendingTour> pending = new ArrayList<>();
+        private int processed;
+        private int imported;
+        private int failed;
+        private String error;
+
+        ImportRun(long totalBytes, Consumer<ImportResultDto> progress) {
+            this.totalBytes = totalBytes;
+            this.progress = progress;
+        }
+
+        void fail(int index, Map<String, String> errors) {
+            failed++;
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(BulkItemResultDto.builder()
+                        .index(index)
+                        .status(BulkItemResultDto.Status.INVALID)
+                        .errors(errors)
+                        .build());
+            }
+            log.debug("Skipped import record {}: {}", index, errors);
+        }
+
+        void reportProgress(long bytesRead) {
+            log.info("Import progress: {} records read, {} imported, {} failed ({} of {} bytes)",
+                    processed, imported, failed, bytesRead, totalBytes);
+            progress.accept(ImportResultDto.builder()
+                    .processed(processed)
+                    .imported(imported)
+                    .failed(failed)
+                    .bytesRead(bytesRead >= 0 ? bytesRead : null)
+                    .totalBytes(totalBytes)
+                    .build());
+        }
+
+        ImportResultDto result() {
+            return ImportResultDto.builder()
+                    .processed(processed)
+                    .imported(imported)
+                    .failed(failed)
+                    .complete(true)
+                    .error(error)
+                    .failures(failures)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.example.tourplannerbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.dto.LeaderboardEntryDto;
+import org.example.tourplannerbackend.dto.LeaderboardMetric;
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.exception.BadRequestException;
+import org.example.tourplannerbackend.repository.TourLogSketchRepository;
+import org.example.tourplannerbackend.repository.TourRepository;
+import org.example.tourplannerbackend.repository.TourScore;
+import org.example.tourplannerbackend.stats.RankedIndex;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory leaderboards of tours by popularity and average rating, overall and per transport type.
+ * Each board is an ordered index over all tours with logs, so score decreases (deleted logs) are exact
+ * and a top-K read touches only K entries. Scores come from the per-tour sketches: log writes push
+ * the new scores after commit, and the boards are rebuilt from the sketch table on startup and periodically
+ * (which also picks up writes made by other instances).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final String ALL_TRANSPORT_TYPES = "*";
+
+    private static final Comparator<TourRanking> BY_POPULARITY = Comparator
+            .comparingLong(TourRanking::logCount).reversed()
+            .thenComparing(TourRanking::tourId);
+
+    private static final Comparator<TourRanking> BY_RATING = Comparator
+            .comparingDouble(TourRanking::averageRating).reversed()
+            .thenComparing(Comparator.comparingLong(TourRanking::logCount).reversed())
+            .thenComparing(TourRanking::tourId);
+
+    private final TourLogSketchRepository sketchRepository;
+    private final TourRepository tourRepository;
+
+    private final Object rebuildLock = new Object();
+    private volatile Map<String, Boards> boardsByScope = new ConcurrentHashMap<>();
+    // Changes applied while a rebuild reads the sketch table, replayed on the rebuilt boards (null otherwise)
+    private List<Runnable> changesDuringRebuild;
+
+    /**
+     * Get the top tours for a metric, optionally restricted to one transport type
+     */
+    public List<LeaderboardEntryDto> getLeaderboard(String metric, String transportType, int limit) {
+        LeaderboardMetric rankBy = LeaderboardMetric.parse(metric);
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        Boards boards = boardsByScope.get(scopeOf(transportType));
+        if (boards == null) {
+            return List.of();
+        }
+        List<TourRanking> top = (rankBy == LeaderboardMetric.POPULARITY ? boards.popularity : boards.rating).top(limit);
+
+        List<LeaderboardEntryDto> entries = new ArrayList<>(top.size());
+        for (TourRanking ranking : top) {
+            entries.add(LeaderboardEntryDto.builder()
+                    .rank(entries.size() + 1)
+                    .tourId(ranking.tourId())
+                    .tourName(ranking.tourName())
+                    .transportType(ranking.transportType())
+                    .logCount(ranking.logCount())
+                    .averageRating(ranking.averageRating())
+                    .build());
+        }
+        return entries;
+    }
+
+    /**
+     * New scores of a tour after its logs changed; applied once the surrounding transaction commits
+     */
+    public void scoresChanged(Long tourId, long logCount, long ratingSum) {
+        TourRanking indexed = global().rating.get(tourId);
+        String tourName;
+        String transportType;
+        if (indexed != null) {
+            tourName = indexed.tourName();
+            transportType = indexed.transportType();
+        } else {
+            Tour tour = tourRepository.findById(tourId).orElse(null);
+            if (tour == null) {
+                return;
+            }
+            tourName = tour.getName();
+            transportType = tour.getTransportType();
+        }
+        TourRanking ranking = new TourRanking(tourId, tourName, transportType, logCount,
+                logCount > 0 ? (double) ratingSum / logCount : 0.0);
+        AfterCommit.run(() -> apply(ranking));
+    }
+
+    /**
+     * Name or transport type of a tour changed; applied after commit
+     */
+    public void tourUpdated(Tour tour) {
+        Long tourId = tour.getId();
+        String tourName = tour.getName();
+        String transportType = tour.getTransportType();
+        AfterCommit.run(() -> change(() -> {
+            TourRanking indexed = global().rating.get(tourId);
+            if (indexed != null) {
+                put(new TourRanking(tourId, tourName, transportType, indexed.logCount(), indexed.averageRating()));
+            }
+        }));
+    }
+
+    /**
+     * A tour lost all its logs or was deleted; applied after commit
+     */
+    public void tourRemoved(Long tourId) {
+        AfterCommit.run(() -> remove(tourId));
+    }
+
+    /**
+     * Rebuild all boards from the sketch table (one row per tour with logs)
+     * The table is read without holding the boards' lock. Changes applied meanwhile are recorded and
+     * replayed on the rebuilt boards, so none committed after the read is lost by the swap.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE) // after the sketch backfill
+    @Scheduled(initialDelayString = "${tourplanner.leaderboards.resync-ms:300000}",
+            fixedDelayString = "${tourplanner.leaderboards.resync-ms:300000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            try {
+                Map<String, Boards> rebuilt = new ConcurrentHashMap<>();
+                List<TourScore> scores = sketchRepository.findAllScores();
+                for (TourScore score : scores) {
+                    TourRanking ranking = new TourRanking(score.getTourId(), score.getTourName(), score.getTransportType(),
+                            score.getLogCount(), score.getLogCount() > 0 ? (double) score.getRatingSum() / score.getLogCount() : 0.0);
+                    rebuilt.computeIfAbsent(ALL_TRANSPORT_TYPES, scope -> new Boards()).put(ranking);
+                    rebuilt.computeIfAbsent(scopeOf(ranking.transportType()), scope -> new Boards()).put(ranking);
+                }
+                synchronized (this) {
+                    boardsByScope = rebuilt;
+                    changesDuringRebuild.forEach(Runnable::run);
+                    log.info("Rebuilt leaderboards for {} tours in {} ms ({} changes replayed)",
+                            scores.size(), System.currentTimeMillis() - start, changesDuringRebuild.size());
+                }
+            } finally {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private void apply(TourRanking ranking) {
+        change(() -> put(ranking));
+    }
+
+    private void remove(Long tourId) {
+        change(() -> {
+            TourRanking previous = global().rating.get(tourId);
+            if (previous != null) {
+                global().remove(tourId);
+                Boards scope = boardsByScope.get(scopeOf(previous.transportType()));
+                if (scope != null) {
+                    scope.remove(tourId);
+                }
+            }
+        });
+    }
+
+    // Apply a change to the current boards and record it while a rebuild is reading the sketch table.
+    // Replaying a change the rebuild already saw writes the same ranking again.
+    private synchronized void change(Runnable change) {
+        change.run();
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    private void put(TourRanking ranking) {
+        TourRanking previous = global().rating.get(ranking.tourId());
+        if (previous != null && !Objects.equals(scopeOf(previous.transportType()), scopeOf(ranking.transportType()))) {
+            Boards previousScope = boardsByScope.get(scopeOf(previous.transportType()));
+            if (previousScope != null) {
+                previousScope.remove(ranking.tourId());
+            }
+        }
+        global().put(ranking);
+        boardsByScope.computeIfAbsent(scopeOf(ranking.transportType()), scope -> new Boards()).put(ranking);
+    }
+
+    private Boards global() {
+        return boardsByScope.computeIfAbsent(ALL_TRANSPORT_TYPES, scope -> new Boards());
+    }
+
+    private static String scopeOf(String transportType) {
+        return transportType == null || transportType.isBlank() ?
+                ALL_TRANSPORT_TYPES : transportType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record TourRanking(Long tourId, String tourName, String transportType, long logCount, double averageRating) {
+    }
+
+    // The popularity and rating boards of one scope (all tours or one transport type)
+    private static final class Boards {
+
+        private final RankedIndex<TourRanking> popularity = new RankedIndex<>(BY_POPULARITY);
+        private final RankedIndex<TourRanking> rating = new RankedIndex<>(BY_RATING);
+
+        private void put(TourRanking ranking) {
+            popularity.put(ranking.tourId(), ranking);
+            rating.put(ranking.tourId(), ranking);
+        }
+
+        private void remove(Long tourId) {
+            popularity.remove(tourId);
+            rating.remove(tourId);
+        }
+    }
+}
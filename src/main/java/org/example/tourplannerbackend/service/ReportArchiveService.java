@@ -0,0 +1,156 @@
+package org.example.tourplannerbackend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.exception.ResourceNotFoundException;
+import org.example.tourplannerbackend.repository.TourRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ZIP archive with the tour report of every tour.
+ * Reports are rendered in parallel on a fixed pool shared by all archives, but written in tour order:
+ * an archive keeps at most `window` reports rendering or waiting to be written, so memory holds only
+ * those, and the first entry goes out as soon as the first report is ready. Reports the report cache
+ * holds for the tour's current version are read from it instead of being rendered.
+ */
+@Service
+@Slf4j
+public class ReportArchiveService {
+
+    private final ReportService reportService;
+    private final TourReportCache tourReportCache;
+    private final TourRepository tourRepository;
+    private final ExecutorService renderers;
+    private final int window;
+
+    public ReportArchiveService(ReportService reportService,
+                                TourReportCache tourReportCache,
+                                TourRepository tourRepository,
+                                @Value("${tourplanner.reports.archive-threads:4}") int rendererThreads,
+                                @Value("${tourplanner.reports.archive-window:16}") int window) {
+        this.reportService = reportService;
+        this.tourReportCache = tourReportCache;
+        this.tourRepository = tourRepository;
+        this.window = Math.max(1, window);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.renderers = Executors.newFixedThreadPool(rendererThreads, runnable -> {
+            Thread thread = new Thread(runnable, "report-archive-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderers.shutdownNow();
+    }
+
+    /**
+     * Tours to archive, in entry order (read before the response starts)
+     */
+    public List<Long> archiveTourIds() {
+        return tourRepository.findAllIds();
+    }
+
+    /**
+     * Write the archive of the given tours to the stream; tours deleted in the meantime are left out.
+     * The stream is not closed.
+     */
+    public void writeArchive(List<Long> tourIds, OutputStream out) throws IOException {
+        log.info("Writing report archive for {} tours", tourIds.size());
+        ZipOutputStream zip = new ZipOutputStream(out);
+        Iterator<Long> ids = tourIds.iterator();
+        Deque<Future<ArchiveEntry>> pending = new ArrayDeque<>(window);
+        int written = 0;
+        try {
+            while (ids.hasNext() && pending.size() < window) {
+                pending.add(submit(ids.next()));
+            }
+            while (!pending.isEmpty()) {
+                ArchiveEntry entry = await(pending.poll());
+                // Refill before writing, so the renderers stay busy while the client reads
+                if (ids.hasNext()) {
+                    pending.add(submit(ids.next()));
+                }
+                if (entry != null) {
+                    write(zip, entry);
+                    written++;
+                }
+            }
+            zip.finish();
+            log.info("Report archive written with {} reports", written);
+        } finally {
+            // Client gone or a report failed: drop the work of this archive
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Future<ArchiveEntry> submit(Long tourId) {
+        return renderers.submit(() -> {
+            try {
+                byte[] pdf = cachedReport(tourId).orElseGet(() -> reportService.generateTourReport(tourId));
+                CRC32 crc = new CRC32();
+                crc.update(pdf);
+                return new ArchiveEntry("tour-report-" + tourId + ".pdf", pdf, crc.getValue());
+            } catch (ResourceNotFoundException e) {
+                log.debug("Tour {} deleted while archiving, skipped", tourId);
+                return null;
+            }
+        });
+    }
+
+    private Optional<byte[]> cachedReport(Long tourId) {
+        try {
+            Optional<TourReportCache.CachedReport> cached = tourReportCache.find(tourId, tourReportCache.currentVersion(tourId));
+            return cached.isPresent() ? Optional.of(Files.readAllBytes(cached.get().file())) : Optional.empty();
+        } catch (IOException e) {
+            // Evicted between lookup and read
+            return Optional.empty();
+        }
+    }
+
+    private ArchiveEntry await(Future<ArchiveEntry> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing report archive");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render report for archive", e.getCause());
+        }
+    }
+
+    // PDFs are compressed already, so entries are stored rather than deflated again
+    private void write(ZipOutputStream zip, ArchiveEntry entry) throws IOException {
+        ZipEntry zipEntry = new ZipEntry(entry.name());
+        zipEntry.setMethod(ZipEntry.STORED);
+        zipEntry.setSize(entry.pdf().length);
+        zipEntry.setCompressedSize(entry.pdf().length);
+        zipEntry.setCrc(entry.crc());
+        zip.putNextEntry(zipEntry);
+        zip.write(entry.pdf());
+        zip.closeEntry();
+    }
+
+    private record ArchiveEntry(String name, byte[] pdf, long crc) {
+    }
+}
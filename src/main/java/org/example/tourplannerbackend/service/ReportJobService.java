@@ -0,0 +1,249 @@
+package org.example.tourplannerbackend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.dto.ReportJobDto;
+import org.example.tourplannerbackend.dto.ReportJobStatus;
+import org.example.tourplannerbackend.exception.ResourceNotFoundException;
+import org.example.tourplannerbackend.exception.ServiceUnavailableException;
+import org.example.tourplannerbackend.repository.TourRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Asynchronous PDF report jobs.
+ * Jobs are rendered by a fixed worker pool with a bounded queue (a full queue rejects new jobs with 503),
+ * results are written to the job directory and kept for the retention period. A request for a report
+ * that is already queued or rendering returns the existing job instead of rendering it twice.
+ * Jobs live in memory, so they are local to one instance and do not survive a restart.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private static final String SUMMARY = "summary";
+    private static final String TOUR = "tour";
+
+    private final ReportService reportService;
+    private final TourRepository tourRepository;
+    private final Path jobDir;
+    private final long retentionMs;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ReportJob> inFlight = new ConcurrentHashMap<>(); // queued or running, by report key
+
+    public ReportJobService(ReportService reportService,
+                            TourRepository tourRepository,
+                            @Value("${tourplanner.reports.job-dir:${java.io.tmpdir}/tourplanner-reports}") String jobDir,
+                            @Value("${tourplanner.reports.retention-ms:3600000}") long retentionMs,
+                            @Value("${tourplanner.reports.workers:2}") int workerThreads,
+                            @Value("${tourplanner.reports.queue-capacity:16}") int queueCapacity) {
+        this.reportService = reportService;
+        this.tourRepository = tourRepository;
+        this.jobDir = Paths.get(jobDir);
+        this.retentionMs = retentionMs;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "report-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Results of a previous run are unreachable (jobs are in memory), so the directory starts empty
+     */
+    @PostConstruct
+    public void prepareJobDir() throws IOException {
+        Files.createDirectories(jobDir);
+        try (Stream<Path> files = Files.list(jobDir)) {
+            files.forEach(this::deleteQuietly);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public ReportJobDto submitSummaryReport() {
+        return submit(SUMMARY, null, reportService::writeSummaryReport);
+    }
+
+    public ReportJobDto submitTourReport(Long tourId) {
+        if (!tourRepository.existsById(tourId)) {
+            throw new ResourceNotFoundException("Tour not found with ID: " + tourId);
+        }
+        return submit(TOUR, tourId, out -> out.write(reportService.generateTourReport(tourId)));
+    }
+
+    public ReportJobDto getJob(String id) {
+        return findJob(id).toDto();
+    }
+
+    /**
+     * Stored result of a finished job; empty while the job is queued or running or if it failed
+     */
+    public Optional<ReportResult> getResult(String id) {
+        ReportJob job = findJob(id);
+        if (job.status != ReportJobStatus.DONE) {
+            return Optional.empty();
+        }
+        return Optional.of(new ReportResult(job.file, job.fileName()));
+    }
+
+    /**
+     * Drop jobs whose retention ended, together with their result files
+     */
+    @Scheduled(fixedDelayString = "${tourplanner.reports.cleanup-ms:60000}")
+    public void removeExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        jobs.values().removeIf(job -> {
+            if (job.expiresAt == null || job.expiresAt.isAfter(now)) {
+                return false;
+            }
+            if (job.file != null) {
+                deleteQuietly(job.file);
+            }
+            log.debug("Report job {} expired", job.id);
+            return true;
+        });
+    }
+
+    private ReportJobDto submit(String reportType, Long tourId, ReportRenderer renderer) {
+        String key = tourId != null ? reportType + ":" + tourId : reportType;
+        ReportJob created = new ReportJob(reportType, tourId);
+        ReportJob job = inFlight.putIfAbsent(key, created);
+        if (job != null) {
+            log.info("Report {} already in progress as job {}", key, job.id);
+            return job.toDto();
+        }
+
+        jobs.put(created.id, created);
+        try {
+            workers.execute(() -> run(created, key, renderer));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(created.id);
+            inFlight.remove(key, created);
+            throw new ServiceUnavailableException("Too many report jobs queued, try again later");
+        }
+        log.info("Report job {} queued for {}", created.id, key);
+        return created.toDto();
+    }
+
+    private void run(ReportJob job, String key, ReportRenderer renderer) {
+        job.startedAt = LocalDateTime.now();
+        job.status = ReportJobStatus.RUNNING;
+        Path file = jobDir.resolve(job.id + ".pdf");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                renderer.render(out);
+            }
+            job.file = file;
+            finish(job, ReportJobStatus.DONE);
+            log.info("Report job {} done", job.id);
+        } catch (Exception e) {
+            log.error("Report job {} failed: {}", job.id, e.getMessage(), e);
+            job.error = e instanceof ResourceNotFoundException ? e.getMessage() : "Report generation failed";
+            deleteQuietly(file);
+            finish(job, ReportJobStatus.FAILED);
+        } finally {
+            inFlight.remove(key, job);
+        }
+    }
+
+    // Status last, so a client that sees DONE or FAILED also sees the timestamps
+    private void finish(ReportJob job, ReportJobStatus status) {
+        job.finishedAt = LocalDateTime.now();
+        job.expiresAt = job.finishedAt.plus(Duration.ofMillis(retentionMs));
+        job.status = status;
+    }
+
+    private ReportJob findJob(String id) {
+        ReportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Report job not found with ID: " + id);
+        }
+        return job;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Renders a report into the job's result file
+    private interface ReportRenderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Finished report file and the name it is downloaded as
+     */
+    public record ReportResult(Path file, String fileName) {
+    }
+
+    private static final class ReportJob {
+
+        private final String id = UUID.randomUUID().toString();
+        private final String reportType;
+        private final Long tourId;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile LocalDateTime expiresAt;
+        private volatile String error;
+        private volatile Path file;
+
+        ReportJob(String reportType, Long tourId) {
+            this.reportType = reportType;
+            this.tourId = tourId;
+        }
+
+        String fileName() {
+            return tourId != null ? "tour-report-" + tourId + ".pdf" : "tour-summary-report.pdf";
+        }
+
+        ReportJobDto toDto() {
+            ReportJobStatus current = status;
+            return ReportJobDto.builder()
+                    .id(id)
+                    .reportType(reportType)
+                    .tourId(tourId)
+                    .status(current)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .expiresAt(expiresAt)
+                    .error(error)
+                    .resultUrl(current == ReportJobStatus.DONE ? "/api/reports/jobs/" + id + "/result" : null)
+                    .build();
+        }
+    }
+}
@@ -14,6 +14,8 @@ import org.springframework.http.HttpMethod;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -40,11 +42,14 @@ public class RouteService {
     private String basePath;
 
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final ObjectReader jsonReader;
+    private final ObjectWriter jsonWriter;
 
-    public RouteService() {
+    public RouteService(ObjectMapper objectMapper) {
         this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+        // Shared and thread safe, instead of a new mapper per call
+        this.jsonReader = objectMapper.reader();
+        this.jsonWriter = objectMapper.writer();
 
         log.info("RouteService initialized");
     }
@@ -85,6 +90,10 @@ public class RouteService {
             }
 
             // Update tour with calculated information
+            tour.setFromLongitude(startCoords[0]);
+            tour.setFromLatitude(startCoords[1]);
+            tour.setToLongitude(endCoords[0]);
+            tour.setToLatitude(endCoords[1]);
             tour.setDistance(routeInfo.getDistance());
             tour.setEstimatedTime(routeInfo.getDuration());
 
@@ -142,7 +151,7 @@ public class RouteService {
             ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
 
             if (response.getStatusCode().is2xxSuccessful()) {
-                JsonNode rootNode = objectMapper.readTree(response.getBody());
+                JsonNode rootNode = jsonReader.readTree(response.getBody());
 
                 if (rootNode.has("features") && rootNode.get("features").size() > 0) {
                     JsonNode feature = rootNode.get("features").get(0);
@@ -185,13 +194,12 @@ public class RouteService {
             // FIXED: Correct directions endpoint with POST request and proper body
             String url = String.format("%s/v2/directions/%s", baseUrl, profile);
 
-            // Create request body using ObjectMapper to avoid formatting issues
-            ObjectMapper mapper = new ObjectMapper();
+            // Create request body with the JSON writer to avoid formatting issues
             double[][] coordinates = new double[][]{startCoords, endCoords};
 
             String requestBody;
             try {
-                requestBody = mapper.writeValueAsString(
+                requestBody = jsonWriter.writeValueAsString(
                         java.util.Map.of("coordinates", coordinates)
                 );
                 log.debug("Request body: {}", requestBody);
@@ -230,7 +238,7 @@ public class RouteService {
      */
     private RouteInfo parseDirectionsResponse(String responseBody) {
         try {
-            JsonNode rootNode = objectMapper.readTree(responseBody);
+            JsonNode rootNode = jsonReader.readTree(responseBody);
 
             if (rootNode.has("routes") && rootNode.get("routes").size() > 0) {
                 JsonNode route = rootNode.get("routes").get(0);
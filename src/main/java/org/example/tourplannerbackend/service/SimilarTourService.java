@@ -0,0 +1,168 @@
+package org.example.tourplannerbackend.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.dto.SimilarTourDto;
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.entity.TourLogSketch;
+import org.example.tourplannerbackend.exception.BadRequestException;
+import org.example.tourplannerbackend.exception.ResourceNotFoundException;
+import org.example.tourplannerbackend.repository.TourRepository;
+import org.example.tourplannerbackend.repository.TourWithSketch;
+import org.example.tourplannerbackend.stats.LogDistribution;
+import org.example.tourplannerbackend.stats.TourFeatures;
+import org.example.tourplannerbackend.stats.VectorIndex;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * "Tours like this one": nearest neighbours over per-tour feature vectors held in memory.
+ * Lookups only read the in-memory index and never touch the database or wait for a rebuild.
+ * Tour and log writes mark the tour as changed after commit; a scheduled drain re-vectorizes changed tours
+ * in one batch, and a periodic rebuild builds a replacement index off to the side and swaps it in.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SimilarTourService {
+
+    public static final int MAX_LIMIT = 50;
+
+    private final TourRepository tourRepository;
+    private final EntityManager entityManager;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Object writeLock = new Object(); // drains and rebuilds, never taken by lookups
+    private volatile Snapshot snapshot = new Snapshot(new VectorIndex(TourFeatures.DIMENSIONS, 16), new ConcurrentHashMap<>());
+
+    /**
+     * Get the tours most similar to the given one
+     */
+    public List<SimilarTourDto> getSimilarTours(Long tourId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        Snapshot current = snapshot;
+        if (!current.labels().containsKey(tourId)) {
+            throw new ResourceNotFoundException("Tour not found with ID: " + tourId);
+        }
+
+        List<SimilarTourDto> similarTours = new ArrayList<>(limit);
+        for (VectorIndex.Neighbour neighbour : current.index().nearest(tourId, limit)) {
+            TourLabel label = current.labels().get(neighbour.id());
+            if (label == null) {
+                continue;
+            }
+            similarTours.add(SimilarTourDto.builder()
+                    .tourId(neighbour.id())
+                    .tourName(label.name())
+                    .fromLocation(label.fromLocation())
+                    .toLocation(label.toLocation())
+                    .transportType(label.transportType())
+                    .similarity(1.0 / (1.0 + neighbour.distance()))
+                    .build());
+        }
+        return similarTours;
+    }
+
+    /**
+     * A tour or its logs changed; it is re-vectorized by the next drain after commit
+     */
+    public void tourChanged(Long tourId) {
+        AfterCommit.run(() -> pending.add(tourId));
+    }
+
+    /**
+     * Re-vectorize the tours changed since the last drain (one query); tours that no longer exist are dropped
+     */
+    @Scheduled(initialDelayString = "${tourplanner.similarity.refresh-ms:1000}",
+            fixedDelayString = "${tourplanner.similarity.refresh-ms:1000}")
+    @Transactional(readOnly = true)
+    public void applyPendingChanges() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            List<Long> tourIds = new ArrayList<>(pending);
+            pending.removeAll(tourIds);
+            if (tourIds.isEmpty()) {
+                return;
+            }
+            Snapshot current = snapshot;
+            Map<Long, TourWithSketch> rows = tourRepository.findWithSketchesByIdIn(tourIds).stream()
+                    .collect(Collectors.toMap(row -> row.getTour().getId(), Function.identity()));
+            for (Long tourId : tourIds) {
+                TourWithSketch row = rows.get(tourId);
+                if (row == null) {
+                    current.index().remove(tourId);
+                    current.labels().remove(tourId);
+                } else {
+                    current.index().put(tourId, TourFeatures.of(row.getTour(), distributionOf(row.getSketch())));
+                    current.labels().put(tourId, TourLabel.of(row.getTour()));
+                }
+            }
+            entityManager.clear();
+        }
+    }
+
+    /**
+     * Build the whole index from all tours and their sketches, streamed as one join, and swap it in
+     * Runs after startup and periodically, which also picks up writes made by other instances. Lookups keep
+     * reading the current index meanwhile; changes committed during the scan stay pending for the next drain.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE) // after the sketch backfill
+    @Scheduled(initialDelayString = "${tourplanner.similarity.resync-ms:600000}",
+            fixedDelayString = "${tourplanner.similarity.resync-ms:600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (writeLock) {
+            long start = System.currentTimeMillis();
+            VectorIndex rebuilt = new VectorIndex(TourFeatures.DIMENSIONS, Math.max(16, snapshot.labels().size()));
+            Map<Long, TourLabel> rebuiltLabels = new ConcurrentHashMap<>();
+            try (Stream<TourWithSketch> rows = tourRepository.streamWithSketches()) {
+                rows.forEach(row -> {
+                    Tour tour = row.getTour();
+                    rebuilt.put(tour.getId(), TourFeatures.of(tour, distributionOf(row.getSketch())));
+                    rebuiltLabels.put(tour.getId(), TourLabel.of(tour));
+                    entityManager.detach(tour);
+                    if (row.getSketch() != null) {
+                        entityManager.detach(row.getSketch());
+                    }
+                });
+            }
+            snapshot = new Snapshot(rebuilt, rebuiltLabels);
+            log.info("Built similarity index for {} tours in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    private static LogDistribution distributionOf(TourLogSketch sketch) {
+        return sketch != null ? LogDistribution.of(sketch) : LogDistribution.empty();
+    }
+
+    // Index and labels swapped together, so a lookup never mixes two builds
+    private record Snapshot(VectorIndex index, Map<Long, TourLabel> labels) {
+    }
+
+    private record TourLabel(String name, String fromLocation, String toLocation, String transportType) {
+
+        static TourLabel of(Tour tour) {
+            return new TourLabel(tour.getName(), tour.getFromLocation(), tour.getToLocation(), tour.getTransportType());
+        }
+    }
+}
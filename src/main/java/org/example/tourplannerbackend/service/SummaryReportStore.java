@@ -0,0 +1,226 @@
+package org.example.tourplannerbackend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.repository.SyncChangeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Latest rendered summary report, so the summary endpoint can answer with a file instead of a render.
+ * A snapshot is rebuilt in the background on a cron and whenever the sync journal has grown by the change
+ * threshold since the data the snapshot was rendered from; a forced fresh build also replaces it.
+ * Snapshots are rendered to a temp file and moved into place atomically, so readers only ever see complete
+ * PDFs. The store lives in memory and its directory is emptied on startup.
+ */
+@Service
+@Slf4j
+public class SummaryReportStore {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final ReportService reportService;
+    private final SyncChangeRepository syncChangeRepository;
+    private final Path storeDir;
+    private final long changeThreshold;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService builder;
+    private volatile Snapshot latest;
+
+    public SummaryReportStore(ReportService reportService,
+                              SyncChangeRepository syncChangeRepository,
+                              @Value("${tourplanner.reports.summary-dir:${java.io.tmpdir}/tourplanner-summary}") String storeDir,
+                              @Value("${tourplanner.reports.summary-change-threshold:500}") long changeThreshold) {
+        this.reportService = reportService;
+        this.syncChangeRepository = syncChangeRepository;
+        this.storeDir = Paths.get(storeDir);
+        this.changeThreshold = changeThreshold;
+        // Own thread, so a long render does not hold up the other scheduled jobs on the single scheduler thread
+        this.builder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "summary-report-builder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void prepareStoreDir() throws IOException {
+        Files.createDirectories(storeDir);
+        try (Stream<Path> files = Files.list(storeDir)) {
+            files.forEach(this::deleteQuietly);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    /**
+     * Latest snapshot with its file opened for reading, or empty while none has been built.
+     * The open stream keeps the file readable even if a newer snapshot replaces it meanwhile.
+     */
+    public Optional<OpenSnapshot> openLatest() throws IOException {
+        Snapshot snapshot = latest;
+        while (snapshot != null) {
+            try {
+                return Optional.of(new OpenSnapshot(snapshot, Files.newInputStream(snapshot.file())));
+            } catch (NoSuchFileException e) {
+                // Replaced between reading the snapshot and opening it: try the newer one
+                if (latest == snapshot) {
+                    log.warn("Summary report snapshot {} disappeared from the store", snapshot.file());
+                    latest = null;
+                }
+                snapshot = latest;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Render a fresh summary report to the stream and keep it as the new snapshot.
+     * The stream is not closed.
+     */
+    public Snapshot rebuild(OutputStream out) throws IOException {
+        Instant generatedAt = Instant.now();
+        // Read before rendering: changes made while rendering count towards the next rebuild
+        long changeMark = syncChangeRepository.findLatestId();
+        Path temp = Files.createTempFile(storeDir, "render-", ".tmp");
+        try {
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(temp), WRITE_BUFFER_SIZE)) {
+                reportService.writeSummaryReport(new TeeOutputStream(file, out));
+            }
+            Path target = storeDir.resolve("summary-" + generatedAt.toEpochMilli() + "-" + changeMark + ".pdf");
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return publish(new Snapshot(target, Files.size(target), generatedAt, changeMark));
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Scheduled rebuild, whatever changed since the last one
+     */
+    @Scheduled(cron = "${tourplanner.reports.summary-cron:0 0 * * * *}")
+    public void scheduledRebuild() {
+        rebuildInBackground("scheduled");
+    }
+
+    /**
+     * Rebuild once the journal has grown by the change threshold since the snapshot's data (or no snapshot exists)
+     */
+    @Scheduled(initialDelayString = "${tourplanner.reports.summary-check-ms:60000}",
+            fixedDelayString = "${tourplanner.reports.summary-check-ms:60000}")
+    public void rebuildIfChanged() {
+        Snapshot snapshot = latest;
+        if (snapshot == null) {
+            rebuildInBackground("no snapshot yet");
+            return;
+        }
+        // Sequence numbers are allocated in blocks, so this may overcount by a block after a restart
+        long changes = syncChangeRepository.findLatestId() - snapshot.changeMark();
+        if (changes >= changeThreshold) {
+            rebuildInBackground(changes + " changes");
+        }
+    }
+
+    private void rebuildInBackground(String reason) {
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.debug("Summary report rebuild ({}) skipped, one is already running", reason);
+            return;
+        }
+        builder.execute(() -> {
+            try {
+                log.info("Rebuilding summary report snapshot ({})", reason);
+                rebuild(OutputStream.nullOutputStream());
+            } catch (Exception e) {
+                log.error("Error rebuilding summary report snapshot: {}", e.getMessage(), e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    // A build that started before the current snapshot's lost the race and is dropped
+    private synchronized Snapshot publish(Snapshot candidate) {
+        Snapshot current = latest;
+        if (current != null && current.generatedAt().isAfter(candidate.generatedAt())) {
+            deleteQuietly(candidate.file());
+            return current;
+        }
+        latest = candidate;
+        if (current != null) {
+            deleteQuietly(current.file());
+        }
+        log.info("Summary report snapshot stored ({} bytes, journal at {})", candidate.size(), candidate.changeMark());
+        return candidate;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete summary report {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Stored summary report: its file, size, when rendering started and the journal sequence number it reflects
+     */
+    public record Snapshot(Path file, long size, Instant generatedAt, long changeMark) {
+    }
+
+    /**
+     * Snapshot with its file opened; the caller closes the stream
+     */
+    public record OpenSnapshot(Snapshot snapshot, InputStream content) {
+    }
+
+    // Writes everything to the store file and the caller's stream
+    private static final class TeeOutputStream extends FilterOutputStream {
+
+        private final OutputStream branch;
+
+        TeeOutputStream(OutputStream out, OutputStream branch) {
+            super(out);
+            this.branch = branch;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            branch.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            branch.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+            branch.flush();
+        }
+    }
+}
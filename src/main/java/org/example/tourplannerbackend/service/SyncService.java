@@ -0,0 +1,256 @@
+package org.example.tourplannerbackend.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.dto.SyncResponseDto;
+import org.example.tourplannerbackend.dto.TourResponseDto;
+import org.example.tourplannerbackend.entity.SyncChange;
+import org.example.tourplannerbackend.entity.TourLog;
+import org.example.tourplannerbackend.exception.BadRequestException;
+import org.example.tourplannerbackend.mapper.TourLogMapper;
+import org.example.tourplannerbackend.mapper.TourMapper;
+import org.example.tourplannerbackend.repository.SyncChangeRepository;
+import org.example.tourplannerbackend.repository.TourLogKey;
+import org.example.tourplannerbackend.repository.TourLogRepository;
+import org.example.tourplannerbackend.repository.TourRepository;
+import org.example.tourplannerbackend.repository.TourWithSketch;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Delta sync for offline clients, backed by the sync_changes journal.
+ * Every tour and log write appends a journal entry in the same transaction; deletes append tombstones.
+ * A sync reads the entries after the client's token in one primary key range scan, so a client
+ * with nothing to catch up on costs a single empty index lookup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SyncService {
+
+    public static final int MAX_SYNC_LIMIT = 1000;
+    private static final int SEED_BATCH_SIZE = 500;
+
+    private final SyncChangeRepository syncChangeRepository;
+    private final TourRepository tourRepository;
+    private final TourLogRepository tourLogRepository;
+    private final TourMapper tourMapper;
+    private final TourLogMapper tourLogMapper;
+    private final EntityManager entityManager;
+
+    // Sequence numbers handed out to transactions that have not completed yet. Numbers are allocated
+    // before commit, so a lower number can become visible after a higher one; tokens never pass them.
+    private final NavigableSet<Long> uncommitted = new ConcurrentSkipListSet<>();
+
+    public void tourChanged(Long tourId) {
+        toursChanged(List.of(tourId));
+    }
+
+    public void toursChanged(Collection<Long> tourIds) {
+        record(tourIds.stream()
+                .map(id -> new SyncChange(SyncChange.EntityType.TOUR, id, id, false))
+                .collect(Collectors.toList()));
+    }
+
+    public void tourDeleted(Long tourId) {
+        toursDeleted(List.of(tourId));
+    }
+
+    // A tour tombstone covers the tour's logs; compaction drops their entries
+    public void toursDeleted(Collection<Long> tourIds) {
+        record(tourIds.stream()
+                .map(id -> new SyncChange(SyncChange.EntityType.TOUR, id, id, true))
+                .collect(Collectors.toList()));
+    }
+
+    public void logsChanged(Collection<TourLog> tourLogs) {
+        record(tourLogs.stream()
+                .map(tourLog -> new SyncChange(SyncChange.EntityType.LOG, tourLog.getId(), tourLog.getTour().getId(), false))
+                .collect(Collectors.toList()));
+    }
+
+    public void logDeleted(TourLog tourLog) {
+        record(List.of(new SyncChange(SyncChange.EntityType.LOG, tourLog.getId(), tourLog.getTour().getId(), true)));
+    }
+
+    /**
+     * Changes after the token (everything for an empty token), oldest first, at most limit journal entries
+     */
+    @Transactional(readOnly = true)
+    public SyncResponseDto getChanges(String token, int limit) {
+        long since = decodeToken(token);
+        int pageSize = Math.max(1, Math.min(limit, MAX_SYNC_LIMIT));
+        log.info("Syncing changes since {} (limit {})", since, pageSize);
+
+        List<SyncChange> changes = syncChangeRepository.findChangesSince(since, Limit.of(pageSize + 1));
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = changes.subList(0, pageSize);
+        }
+
+        // Latest entry per tour or log wins (superseded entries are only removed by compaction)
+        Map<SyncChange.EntityType, Map<Long, SyncChange>> latest = new LinkedHashMap<>();
+        for (SyncChange change : changes) {
+            latest.computeIfAbsent(change.getEntityType(), type -> new LinkedHashMap<>())
+                    .put(change.getEntityId(), change);
+        }
+        Collection<SyncChange> tourChanges = latest.getOrDefault(SyncChange.EntityType.TOUR, Map.of()).values();
+        Collection<SyncChange> logChanges = latest.getOrDefault(SyncChange.EntityType.LOG, Map.of()).values();
+
+        // Rows deleted after their entry was written are skipped; their tombstone follows
+        List<Long> tourIds = changedIds(tourChanges);
+        // Tour headers with log figures from the sketches; changed logs are synced on their own
+        List<TourWithSketch> changedTours = tourIds.isEmpty() ? List.of() : tourRepository.findWithSketchesByIdIn(tourIds);
+        List<TourResponseDto> tours = changedTours.stream()
+                .map(row -> tourMapper.toHeaderDto(row.getTour(), row.getSketch()))
+                .collect(Collectors.toList());
+
+        long lastSeen = changes.isEmpty() ? since : changes.get(changes.size() - 1).getId();
+        return SyncResponseDto.builder()
+                .token(encodeToken(Math.max(since, Math.min(lastSeen, committedUpTo()))))
+                .hasMore(hasMore)
+                .tours(tours)
+                .logs(tourLogRepository.findAllById(changedIds(logChanges)).stream()
+                        .map(tourLogMapper::toResponseDto)
+                        .collect(Collectors.toList()))
+                .deletedTourIds(deletedIds(tourChanges))
+                .deletedLogIds(deletedIds(logChanges))
+                .build();
+    }
+
+    /**
+     * Drop entries superseded by a newer entry for the same tour or log.
+     * Tokens stay valid: the newest entry of every tour and log is kept.
+     */
+    @Scheduled(cron = "${tourplanner.sync.compact-cron:0 0 4 * * *}")
+    public void compact() {
+        int superseded = syncChangeRepository.deleteSuperseded();
+        int obsoleteLogs = syncChangeRepository.deleteLogsOfDeletedTours();
+        log.info("Compacted sync journal: {} superseded and {} obsolete log entries removed", superseded, obsoleteLogs);
+    }
+
+    /**
+     * Seed the journal once on startup when tours exist but the journal is empty (first start after it was added)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void seedIfEmpty() {
+        if (syncChangeRepository.count() > 0 || tourRepository.count() == 0) {
+            return;
+        }
+        log.info("Seeding sync journal from existing tours and logs");
+        int written = 0;
+        try (Stream<Long> tourIds = tourRepository.streamAllIds()) {
+            for (Long id : (Iterable<Long>) tourIds::iterator) {
+                written = seed(new SyncChange(SyncChange.EntityType.TOUR, id, id, false), written);
+            }
+        }
+        try (Stream<TourLogKey> logKeys = tourLogRepository.streamAllKeys()) {
+            for (TourLogKey key : (Iterable<TourLogKey>) logKeys::iterator) {
+                written = seed(new SyncChange(SyncChange.EntityType.LOG, key.getId(), key.getTourId(), false), written);
+            }
+        }
+        log.info("Seeded sync journal with {} entries", written);
+    }
+
+    private int seed(SyncChange change, int written) {
+        syncChangeRepository.save(change);
+        if (++written % SEED_BATCH_SIZE == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return written;
+    }
+
+    private void record(List<SyncChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(changes.size());
+        // Allocating and registering together, so no token can be issued in between
+        synchronized (uncommitted) {
+            for (SyncChange change : syncChangeRepository.saveAll(changes)) {
+                ids.add(change.getId());
+            }
+            uncommitted.addAll(ids);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ids.forEach(uncommitted::remove);
+                }
+            });
+        } else {
+            ids.forEach(uncommitted::remove);
+        }
+    }
+
+    /**
+     * Highest sequence number below which every entry is committed (or rolled back)
+     */
+    private long committedUpTo() {
+        synchronized (uncommitted) {
+            return uncommitted.isEmpty() ? Long.MAX_VALUE : uncommitted.first() - 1;
+        }
+    }
+
+    private static List<Long> changedIds(Collection<SyncChange> changes) {
+        return changes.stream()
+                .filter(change -> !change.isDeleted())
+                .map(SyncChange::getEntityId)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> deletedIds(Collection<SyncChange> changes) {
+        return changes.stream()
+                .filter(SyncChange::isDeleted)
+                .map(SyncChange::getEntityId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Opaque sync token: URL-safe Base64 of the last consumed sequence number
+     */
+    private static String encodeToken(long sequence) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(sequence).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeToken(String token) {
+        if (token == null || token.isBlank()) {
+            return 0;
+        }
+        long sequence;
+        try {
+            sequence = Long.parseLong(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid sync token: " + token);
+        }
+        if (sequence < 0) {
+            throw new BadRequestException("Invalid sync token: " + token);
+        }
+        return sequence;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.tourplannerbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.entity.TourLog;
+import org.example.tourplannerbackend.repository.TourRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes one chunk of imported tours per transaction.
+ * Tours and logs are inserted with JDBC batching (sequence IDs, hibernate.jdbc.batch_size) and the
+ * sync journal gets one batch per chunk; the persistence context ends with the transaction, so an
+ * import holds at most one chunk of entities.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TourImportWriter {
+
+    private final TourRepository tourRepository;
+    private final TourLogRollupService tourLogRollupService;
+    private final TourLogSketchService tourLogSketchService;
+    private final SimilarTourService similarTourService;
+    private final SyncService syncService;
+
+    /**
+     * Insert the tours with their logs in one transaction; returns their new IDs in order
+     */
+    @Transactional
+    public List<Long> insert(List<Tour> tours) {
+        tourRepository.saveAll(tours);
+
+        List<Long> ids = new ArrayList<>(tours.size());
+        List<TourLog> tourLogs = new ArrayList<>();
+        for (Tour tour : tours) {
+            tourLogRollupService.logsAdded(tour, tour.getTourLogs());
+            tourLogSketchService.logsAdded(tour.getId(), tour.getTourLogs());
+            similarTourService.tourChanged(tour.getId());
+            ids.add(tour.getId());
+            tourLogs.addAll(tour.getTourLogs());
+        }
+        syncService.toursChanged(ids);
+        syncService.logsChanged(tourLogs);
+        log.debug("Inserted {} imported tours with {} logs", tours.size(), tourLogs.size());
+        return ids;
+    }
+}
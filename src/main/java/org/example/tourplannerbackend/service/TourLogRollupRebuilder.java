@@ -0,0 +1,49 @@
+package org.example.tourplannerbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.tourplannerbackend.entity.TourLogDailyRollup;
+import org.example.tourplannerbackend.repository.DailyLogAggregate;
+import org.example.tourplannerbackend.repository.TourLogDailyRollupRepository;
+import org.example.tourplannerbackend.repository.TourLogRepository;
+import org.example.tourplannerbackend.repository.TourRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Rebuilds the daily rollups of one chunk of tours per transaction.
+ * The chunk's tour rows are locked first, in ID order, like a log write locks its tour, so a rebuild and the
+ * writers of those tours run one after another and only for as long as the chunk takes.
+ */
+@Service
+@RequiredArgsConstructor
+public class TourLogRollupRebuilder {
+
+    private final TourRepository tourRepository;
+    private final TourLogRepository tourLogRepository;
+    private final TourLogDailyRollupRepository rollupRepository;
+
+    /**
+     * Replace the rollups of the given tours with fresh aggregates of their logs; returns the rows written
+     */
+    @Transactional
+    public int rebuild(List<Long> tourIds) {
+        tourRepository.findAllByIdForUpdate(tourIds);
+        rollupRepository.deleteByTourIdIn(tourIds);
+        List<DailyLogAggregate> aggregates = tourLogRepository.findDailyAggregatesByTourIdIn(tourIds);
+        rollupRepository.saveAll(aggregates.stream()
+                .map(aggregate -> TourLogRollupService.apply(aggregate,
+                        new TourLogDailyRollup(aggregate.getTourId(), aggregate.getTransportType(), aggregate.getLogDate())))
+                .toList());
+        return aggregates.size();
+    }
+
+    /**
+     * Drop rollups whose tour no longer exists
+     */
+    @Transactional
+    public int deleteOrphans() {
+        return rollupRepository.deleteOrphans();
+    }
+}
@@ -0,0 +1,274 @@
+package org.example.tourplannerbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.dto.TrendGranularity;
+import org.example.tourplannerbackend.dto.TrendPointDto;
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.entity.TourLog;
+import org.example.tourplannerbackend.entity.TourLogDailyRollup;
+import org.example.tourplannerbackend.exception.BadRequestException;
+import org.example.tourplannerbackend.exception.ResourceNotFoundException;
+import org.example.tourplannerbackend.repository.DailyLogAggregate;
+import org.example.tourplannerbackend.repository.DailyLogTotals;
+import org.example.tourplannerbackend.repository.TourLogDailyRollupRepository;
+import org.example.tourplannerbackend.repository.TourLogRepository;
+import org.example.tourplannerbackend.repository.TourRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the per-tour daily rollups of tour logs and serves trend series from them.
+ * Writes update only the affected (tour, day) rows in the same transaction as the log change;
+ * a nightly job rebuilds the table from tour_logs, a chunk of tours at a time, to repair any drift.
+ * Callers hold the tour's row lock (TourRepository.findByIdForUpdate), so two writers never create the same
+ * missing (tour, day) row or fold their logs into one row concurrently.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TourLogRollupService {
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    private static final int REBUILD_CHUNK_SIZE = 100; // tours per rebuild transaction
+
+    private final TourLogDailyRollupRepository rollupRepository;
+    private final TourLogRepository tourLogRepository;
+    private final TourRepository tourRepository;
+    private final TourLogRollupRebuilder rollupRebuilder;
+
+    /**
+     * Fold newly created logs of a tour into its daily rollups
+     * Inserts only add to counts and sums and widen min/max, so no logs need to be read back
+     */
+    public void logsAdded(Tour tour, Collection<TourLog> tourLogs) {
+        if (tourLogs.isEmpty()) {
+            return;
+        }
+        Map<LocalDate, List<TourLog>> logsByDay = tourLogs.stream()
+                .collect(Collectors.groupingBy(tourLog -> tourLog.getDate().toLocalDate()));
+        Map<LocalDate, TourLogDailyRollup> rollups = rollupRepository
+                .findByTourIdAndLogDateIn(tour.getId(), logsByDay.keySet()).stream()
+                .collect(Collectors.toMap(TourLogDailyRollup::getLogDate, Function.identity()));
+
+        logsByDay.forEach((day, logs) -> {
+            TourLogDailyRollup rollup = rollups.computeIfAbsent(day,
+                    d -> new TourLogDailyRollup(tour.getId(), tour.getTransportType(), d));
+            logs.forEach(rollup::add);
+        });
+        rollupRepository.saveAll(rollups.values());
+    }
+
+    /**
+     * Recompute the rollups of a tour for the given days after logs were updated or deleted
+     * (min/max cannot be maintained by subtraction); days without logs left are removed
+     */
+    public void logsChanged(Long tourId, Collection<LocalDate> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        TreeSet<LocalDate> sortedDays = new TreeSet<>(days);
+        // Rows locked before the logs are aggregated, so the totals include every write committed before ours
+        List<TourLogDailyRollup> existing = rollupRepository.findByTourIdAndLogDateIn(tourId, sortedDays);
+        Map<LocalDate, DailyLogAggregate> aggregates = tourLogRepository.findDailyAggregatesByTour(tourId,
+                        sortedDays.first().atStartOfDay(), sortedDays.last().plusDays(1).atStartOfDay()).stream()
+                .collect(Collectors.toMap(DailyLogAggregate::getLogDate, Function.identity()));
+
+        for (TourLogDailyRollup rollup : existing) {
+            DailyLogAggregate aggregate = aggregates.remove(rollup.getLogDate());
+            if (aggregate == null) {
+                rollupRepository.delete(rollup);
+            } else {
+                apply(aggregate, rollup);
+            }
+        }
+        // Days that had no rollup row yet (e.g. a log moved to a new day)
+        aggregates.values().stream()
+                .filter(aggregate -> sortedDays.contains(aggregate.getLogDate()))
+                .forEach(aggregate -> rollupRepository.save(apply(aggregate,
+                        new TourLogDailyRollup(tourId, aggregate.getTransportType(), aggregate.getLogDate()))));
+    }
+
+    /**
+     * Keep the denormalized transport type in step with the tour
+     */
+    public void transportTypeChanged(Long tourId, String transportType) {
+        rollupRepository.updateTransportType(tourId, transportType);
+    }
+
+    /**
+     * Drop all rollups of deleted tours in one statement
+     */
+    public void toursDeleted(Collection<Long> tourIds) {
+        rollupRepository.deleteByTourIdIn(tourIds);
+    }
+
+    /**
+     * Rebuild the rollup table from tour_logs
+     * Runs nightly, one transaction per chunk of tours (TourLogRollupRebuilder), so log writes only ever wait
+     * for the chunk that holds their tour instead of the whole rebuild
+     */
+    @Scheduled(cron = "${tourplanner.rollups.rebuild-cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildAll() {
+        log.info("Rebuilding tour log daily rollups");
+        long start = System.currentTimeMillis();
+
+        List<Long> tourIds = tourRepository.findAllIds();
+        int written = 0;
+        for (int from = 0; from < tourIds.size(); from += REBUILD_CHUNK_SIZE) {
+            written += rollupRebuilder.rebuild(tourIds.subList(from, Math.min(from + REBUILD_CHUNK_SIZE, tourIds.size())));
+        }
+        int orphans = rollupRebuilder.deleteOrphans();
+
+        log.info("Rebuilt tour log daily rollups of {} tours: {} rows written, {} orphaned rows removed in {} ms",
+                tourIds.size(), written, orphans, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Backfill once on startup when logs exist but no rollups do (first start after the table was added)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() == 0 && tourLogRepository.count() > 0) {
+            rebuildAll();
+        }
+    }
+
+    /**
+     * Trend series of one tour
+     */
+    @Transactional(readOnly = true)
+    public List<TrendPointDto> getTourTrends(Long tourId, String granularity, LocalDate from, LocalDate to) {
+        log.info("Fetching {} trends for tour {} between {} and {}", granularity, tourId, from, to);
+        TrendGranularity bucketSize = TrendGranularity.parse(granularity);
+
+        if (!tourRepository.existsById(tourId)) {
+            throw new ResourceNotFoundException("Tour not found with ID: " + tourId);
+        }
+
+        return toTrendPoints(rollupRepository.findDailyTotalsByTour(tourId, lowerBound(from), upperBound(from, to)),
+                bucketSize);
+    }
+
+    /**
+     * Trend series across all tours, optionally restricted to one transport type
+     */
+    @Transactional(readOnly = true)
+    public List<TrendPointDto> getTrends(String granularity, String transportType, LocalDate from, LocalDate to) {
+        log.info("Fetching {} trends for transport type {} between {} and {}", granularity, transportType, from, to);
+        TrendGranularity bucketSize = TrendGranularity.parse(granularity);
+
+        List<DailyLogTotals> totals = transportType == null || transportType.isBlank() ?
+                rollupRepository.findDailyTotals(lowerBound(from), upperBound(from, to)) :
+                rollupRepository.findDailyTotalsByTransportType(transportType.trim(), lowerBound(from), upperBound(from, to));
+        return toTrendPoints(totals, bucketSize);
+    }
+
+    private LocalDate lowerBound(LocalDate from) {
+        return from != null ? from : MIN_DATE;
+    }
+
+    private LocalDate upperBound(LocalDate from, LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        return to != null ? to : MAX_DATE;
+    }
+
+    /**
+     * Merge the (date-ordered) daily totals into buckets of the requested size
+     */
+    private List<TrendPointDto> toTrendPoints(List<DailyLogTotals> dailyTotals, TrendGranularity granularity) {
+        if (dailyTotals.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<LocalDate, TrendBucket> buckets = new LinkedHashMap<>();
+        for (DailyLogTotals totals : dailyTotals) {
+            buckets.computeIfAbsent(granularity.periodStart(totals.getLogDate()), TrendBucket::new).add(totals);
+        }
+        return buckets.values().stream()
+                .map(TrendBucket::toDto)
+                .collect(Collectors.toList());
+    }
+
+    static TourLogDailyRollup apply(DailyLogTotals totals, TourLogDailyRollup rollup) {
+        rollup.setLogCount(totals.getLogCount());
+        rollup.setDistanceSum(totals.getDistanceSum());
+        rollup.setTimeSum(totals.getTimeSum());
+        rollup.setRatingSum(totals.getRatingSum());
+        rollup.setDifficultySum(totals.getDifficultySum());
+        rollup.setMinDistance(totals.getMinDistance());
+        rollup.setMaxDistance(totals.getMaxDistance());
+        rollup.setMinTime(totals.getMinTime());
+        rollup.setMaxTime(totals.getMaxTime());
+        return rollup;
+    }
+
+    // Accumulates daily totals into one trend point
+    private static final class TrendBucket {
+
+        private final LocalDate periodStart;
+        private long logCount;
+        private double distanceSum;
+        private long timeSum;
+        private long ratingSum;
+        private long difficultySum;
+        private Double minDistance;
+        private Double maxDistance;
+        private Integer minTime;
+        private Integer maxTime;
+
+        private TrendBucket(LocalDate periodStart) {
+            this.periodStart = periodStart;
+        }
+
+        private void add(DailyLogTotals totals) {
+            logCount += totals.getLogCount();
+            distanceSum += totals.getDistanceSum();
+            timeSum += totals.getTimeSum();
+            ratingSum += totals.getRatingSum();
+            difficultySum += totals.getDifficultySum();
+            minDistance = minDistance == null ? totals.getMinDistance() : Math.min(minDistance, totals.getMinDistance());
+            maxDistance = maxDistance == null ? totals.getMaxDistance() : Math.max(maxDistance, totals.getMaxDistance());
+            minTime = minTime == null ? totals.getMinTime() : Math.min(minTime, totals.getMinTime());
+            maxTime = maxTime == null ? totals.getMaxTime() : Math.max(maxTime, totals.getMaxTime());
+        }
+
+        private TrendPointDto toDto() {
+            return TrendPointDto.builder()
+                    .periodStart(periodStart)
+                    .logCount(logCount)
+                    .totalDistance(distanceSum)
+                    .totalTime(timeSum)
+                    .averageDistance(distanceSum / logCount)
+                    .averageTime((double) timeSum / logCount)
+                    .averageRating((double) ratingSum / logCount)
+                    .averageDifficulty((double) difficultySum / logCount)
+                    .minDistance(minDistance)
+                    .maxDistance(maxDistance)
+                    .minTime(minTime)
+                    .maxTime(maxTime)
+                    .build();
+        }
+    }
+}
@@ -1,22 +1,46 @@
 package org.example.tourplannerbackend.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.config.CacheConfig;
+import org.example.tourplannerbackend.dto.BulkItemResultDto;
+import org.example.tourplannerbackend.dto.BulkResultDto;
+import org.example.tourplannerbackend.dto.BulkUpdateItemDto;
+import org.example.tourplannerbackend.dto.ChangeEventType;
+import org.example.tourplannerbackend.dto.TourLogFeedDto;
 import org.example.tourplannerbackend.dto.TourLogRequestDto;
 import org.example.tourplannerbackend.dto.TourLogResponseDto;
 import org.example.tourplannerbackend.dto.TourLogSummaryDto;
 import org.example.tourplannerbackend.entity.Tour;
 import org.example.tourplannerbackend.entity.TourLog;
+import org.example.tourplannerbackend.exception.BadRequestException;
 import org.example.tourplannerbackend.exception.ResourceNotFoundException;
 import org.example.tourplannerbackend.mapper.TourLogMapper;
+import org.example.tourplannerbackend.repository.TourLogAggregate;
 import org.example.tourplannerbackend.repository.TourLogRepository;
 import org.example.tourplannerbackend.repository.TourRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,9 +48,18 @@ import java.util.stream.Collectors;
 @Transactional
 public class TourLogService {
 
+    public static final int MAX_FEED_LIMIT = 100;
+
     private final TourLogRepository tourLogRepository;
     private final TourRepository tourRepository;
     private final TourLogMapper tourLogMapper;
+    private final CacheManager cacheManager;
+    private final EntityManager entityManager;
+    private final BulkRequestValidator bulkRequestValidator;
+    private final TourLogRollupService tourLogRollupService;
+    private final TourLogSketchService tourLogSketchService;
+    private final ChangeFeedService changeFeedService;
+    private final SyncService syncService;
 
     /**
      * Get all logs for a specific tour
@@ -67,11 +100,12 @@ public class TourLogService {
     public TourLogResponseDto createTourLog(Long tourId, TourLogRequestDto tourLogRequestDto) {
         log.info("Creating new log for tour ID: {}", tourId);
 
-        Tour tour = tourRepository.findById(tourId)
+        Tour tour = tourRepository.findByIdForUpdate(tourId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + tourId));
 
         TourLog tourLog = tourLogMapper.toEntity(tourLogRequestDto);
-        tourLog.setTour(tour);
+        // Keep both sides in sync so the cached Tour.tourLogs collection is invalidated
+        tour.addTourLog(tourLog);
 
         // Set current time if date is null
         if (tourLog.getDate() == null) {
@@ -79,6 +113,11 @@ public class TourLogService {
         }
 
         TourLog savedTourLog = tourLogRepository.save(tourLog);
+        tourLogRollupService.logsAdded(tour, List.of(savedTourLog));
+        tourLogSketchService.logsAdded(tourId, List.of(savedTourLog));
+        evictTourLogSummary(tourId);
+        syncService.logsChanged(List.of(savedTourLog));
+        changeFeedService.logsChanged(ChangeEventType.LOG_CREATED, List.of(tourId), List.of(savedTourLog.getId()));
         log.info("Tour log created with ID: {}", savedTourLog.getId());
 
         return tourLogMapper.toResponseDto(savedTourLog);
@@ -93,15 +132,107 @@ public class TourLogService {
         TourLog existingTourLog = tourLogRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tour log not found with ID: " + id));
 
+        lockTour(existingTourLog);
+        LocalDate previousDay = existingTourLog.getDate().toLocalDate();
+
         // Update fields
         tourLogMapper.updateEntityFromDto(tourLogRequestDto, existingTourLog);
 
         TourLog updatedTourLog = tourLogRepository.save(existingTourLog);
+        tourLogRollupService.logsChanged(updatedTourLog.getTour().getId(),
+                new HashSet<>(List.of(previousDay, updatedTourLog.getDate().toLocalDate())));
+        tourLogSketchService.logsChanged(updatedTourLog.getTour().getId());
+        evictTourLogSummary(updatedTourLog.getTour().getId());
+        syncService.logsChanged(List.of(updatedTourLog));
+        changeFeedService.logsChanged(ChangeEventType.LOG_UPDATED,
+                List.of(updatedTourLog.getTour().getId()), List.of(updatedTourLog.getId()));
         log.info("Tour log updated: {}", updatedTourLog.getId());
 
         return tourLogMapper.toResponseDto(updatedTourLog);
     }
 
+    /**
+     * Create many logs for one tour in one transaction with batched inserts
+     * All items are validated first; if any is invalid nothing is written
+     */
+    public BulkResultDto createTourLogsBulk(Long tourId, List<TourLogRequestDto> tourLogRequestDtos) {
+        bulkRequestValidator.checkSize(tourLogRequestDtos);
+        log.info("Bulk creating {} logs for tour ID: {}", tourLogRequestDtos.size(), tourId);
+
+        Tour tour = tourRepository.findByIdForUpdate(tourId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + tourId));
+
+        Map<Integer, BulkItemResultDto> failures = bulkRequestValidator.validateCreates(tourLogRequestDtos);
+        if (!failures.isEmpty()) {
+            log.warn("Bulk log create rejected: {} invalid items", failures.size());
+            return bulkRequestValidator.rejected(tourLogRequestDtos.size(), failures);
+        }
+
+        List<TourLog> tourLogs = tourLogRequestDtos.stream()
+                .map(dto -> {
+                    TourLog tourLog = tourLogMapper.toEntity(dto);
+                    tour.addTourLog(tourLog);
+                    return tourLog;
+                })
+                .collect(Collectors.toList());
+
+        List<TourLog> savedTourLogs = tourLogRepository.saveAll(tourLogs);
+        tourLogRollupService.logsAdded(tour, savedTourLogs);
+        tourLogSketchService.logsAdded(tourId, savedTourLogs);
+        evictTourLogSummary(tourId);
+        List<Long> savedIds = savedTourLogs.stream().map(TourLog::getId).collect(Collectors.toList());
+        syncService.logsChanged(savedTourLogs);
+        changeFeedService.logsChanged(ChangeEventType.LOG_CREATED, List.of(tourId), savedIds);
+        log.info("Bulk created {} logs for tour {}", savedTourLogs.size(), tourId);
+
+        return bulkRequestValidator.succeeded(savedIds, BulkItemResultDto.Status.CREATED);
+    }
+
+    /**
+     * Update many logs in one transaction with batched updates
+     * All IDs are loaded in one query and all items validated first; if any fails nothing is written
+     */
+    public BulkResultDto updateTourLogsBulk(List<BulkUpdateItemDto<TourLogRequestDto>> items) {
+        bulkRequestValidator.checkSize(items);
+        log.info("Bulk updating {} tour logs", items.size());
+
+        List<Long> ids = items.stream()
+                .filter(item -> item != null && item.getId() != null)
+                .map(BulkUpdateItemDto::getId)
+                .collect(Collectors.toList());
+        Map<Long, TourLog> existingLogs = tourLogRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TourLog::getId, Function.identity()));
+
+        Map<Integer, BulkItemResultDto> failures = bulkRequestValidator.validateUpdates(items, existingLogs.keySet());
+        if (!failures.isEmpty()) {
+            log.warn("Bulk log update rejected: {} failed items", failures.size());
+            return bulkRequestValidator.rejected(items.size(), failures);
+        }
+
+        tourRepository.findAllByIdForUpdate(existingLogs.values().stream()
+                .map(tourLog -> tourLog.getTour().getId())
+                .collect(Collectors.toSet()));
+
+        // Days touched per tour (before and after the update) for the rollup refresh
+        Map<Long, Set<LocalDate>> changedDays = new HashMap<>();
+        for (BulkUpdateItemDto<TourLogRequestDto> item : items) {
+            TourLog tourLog = existingLogs.get(item.getId());
+            Set<LocalDate> days = changedDays.computeIfAbsent(tourLog.getTour().getId(), id -> new HashSet<>());
+            days.add(tourLog.getDate().toLocalDate());
+            tourLogMapper.updateEntityFromDto(item.getData(), tourLog);
+            days.add(tourLog.getDate().toLocalDate());
+            evictTourLogSummary(tourLog.getTour().getId());
+        }
+        tourLogRepository.flush();
+        changedDays.forEach(tourLogRollupService::logsChanged);
+        changedDays.keySet().forEach(tourLogSketchService::logsChanged);
+        syncService.logsChanged(existingLogs.values());
+        changeFeedService.logsChanged(ChangeEventType.LOG_UPDATED, List.copyOf(changedDays.keySet()), ids);
+        log.info("Bulk updated {} tour logs", items.size());
+
+        return bulkRequestValidator.succeeded(ids, BulkItemResultDto.Status.UPDATED);
+    }
+
     /**
      * Delete tour log
      */
@@ -111,7 +242,13 @@ public class TourLogService {
         TourLog tourLog = tourLogRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tour log not found with ID: " + id));
 
+        lockTour(tourLog);
         tourLogRepository.delete(tourLog);
+        tourLogRollupService.logsChanged(tourLog.getTour().getId(), Set.of(tourLog.getDate().toLocalDate()));
+        tourLogSketchService.logsChanged(tourLog.getTour().getId());
+        evictTourLogSummary(tourLog.getTour().getId());
+        syncService.logDeleted(tourLog);
+        changeFeedService.logsChanged(ChangeEventType.LOG_DELETED, List.of(tourLog.getTour().getId()), List.of(id));
         log.info("Tour log deleted: {}", id);
     }
 
@@ -171,34 +308,27 @@ public class TourLogService {
 
     /**
      * Get tour log summary for a specific tour
+     * Computed by a single aggregate query and cached per tour until its logs change;
+     * concurrent misses for the same tour wait for one computation (sync)
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.TOUR_LOG_SUMMARIES, key = "#tourId", sync = true)
     public TourLogSummaryDto getTourLogSummary(Long tourId) {
-        log.info("Fetching tour log summary for tour ID: {}", tourId);
+        log.info("Computing tour log summary for tour ID: {}", tourId);
 
-        Tour tour = tourRepository.findById(tourId)
+        TourLogAggregate aggregate = tourLogRepository.findLogAggregateByTour(tourId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + tourId));
 
-        Long totalLogs = tourLogRepository.countLogsByTour(tourId);
-        Double avgDistance = tourLogRepository.findAverageDistanceByTour(tourId);
-        Double avgTime = tourLogRepository.findAverageTimeByTour(tourId);
-        Double avgRating = tourLogRepository.findAverageRatingByTour(tourId);
-        Double avgDifficulty = tourLogRepository.findAverageDifficultyByTour(tourId);
-
-        List<TourLog> logs = tourLogRepository.findByTourIdOrderByDateDesc(tourId);
-        LocalDateTime firstDate = logs.isEmpty() ? null : logs.get(logs.size() - 1).getDate();
-        LocalDateTime lastDate = logs.isEmpty() ? null : logs.get(0).getDate();
-
         return TourLogSummaryDto.builder()
                 .tourId(tourId)
-                .tourName(tour.getName())
-                .totalLogs(totalLogs.intValue())
-                .averageDistance(avgDistance != null ? avgDistance : 0.0)
-                .averageTime(avgTime != null ? avgTime : 0.0)
-                .averageRating(avgRating != null ? avgRating : 0.0)
-                .averageDifficulty(avgDifficulty != null ? avgDifficulty : 0.0)
-                .firstLogDate(firstDate)
-                .lastLogDate(lastDate)
+                .tourName(aggregate.getTourName())
+                .totalLogs(aggregate.getTotalLogs().intValue())
+                .averageDistance(aggregate.getAverageDistance() != null ? aggregate.getAverageDistance() : 0.0)
+                .averageTime(aggregate.getAverageTime() != null ? aggregate.getAverageTime() : 0.0)
+                .averageRating(aggregate.getAverageRating() != null ? aggregate.getAverageRating() : 0.0)
+                .averageDifficulty(aggregate.getAverageDifficulty() != null ? aggregate.getAverageDifficulty() : 0.0)
+                .firstLogDate(aggregate.getFirstLogDate())
+                .lastLogDate(aggregate.getLastLogDate())
                 .build();
     }
 
@@ -210,9 +340,7 @@ public class TourLogService {
         log.info("Searching tour logs with comment containing: '{}'", searchTerm);
 
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return tourLogRepository.findRecentLogs().stream()
-                    .map(tourLogMapper::toResponseDto)
-                    .collect(Collectors.toList());
+            return getRecentTourLogs(MAX_FEED_LIMIT, null).getLogs();
         }
 
         List<TourLog> logs = tourLogRepository.findByCommentContaining(searchTerm.trim());
@@ -223,18 +351,93 @@ public class TourLogService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Streaming variant of searchTourLogsByComment
+     * Each log and its tour are detached once mapped, so memory stays flat regardless of result size
+     */
+    @Transactional(readOnly = true)
+    public void streamTourLogsByComment(String searchTerm, Consumer<TourLogResponseDto> consumer) {
+        log.info("Streaming tour logs with comment containing: '{}'", searchTerm);
+
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            getRecentTourLogs(MAX_FEED_LIMIT, null).getLogs().forEach(consumer);
+            return;
+        }
+
+        try (Stream<TourLog> logs = tourLogRepository.streamByCommentContaining(searchTerm.trim())) {
+            logs.forEach(tourLog -> {
+                TourLogResponseDto dto = tourLogMapper.toResponseDto(tourLog);
+                entityManager.detach(tourLog);
+                entityManager.detach(tourLog.getTour());
+                consumer.accept(dto);
+            });
+        }
+    }
+
     /**
      * Get recent tour logs across all tours
+     * Keyset-paginated on (date, id): each page is one index range scan with a database-side limit,
+     * so the cost does not depend on the total number of logs
      */
     @Transactional(readOnly = true)
-    public List<TourLogResponseDto> getRecentTourLogs(int limit) {
-        log.info("Fetching {} most recent tour logs", limit);
+    public TourLogFeedDto getRecentTourLogs(int limit, String cursor) {
+        log.info("Fetching {} most recent tour logs (cursor: {})", limit, cursor);
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_FEED_LIMIT));
+        List<TourLog> logs;
+        if (cursor == null || cursor.isBlank()) {
+            logs = tourLogRepository.findRecentLogs(Limit.of(pageSize));
+        } else {
+            FeedCursor position = decodeCursor(cursor);
+            logs = tourLogRepository.findRecentLogsBefore(position.date(), position.id(), Limit.of(pageSize));
+        }
 
-        List<TourLog> logs = tourLogRepository.findRecentLogs();
+        String nextCursor = logs.size() < pageSize ? null : encodeCursor(logs.get(logs.size() - 1));
 
-        return logs.stream()
-                .limit(limit)
-                .map(tourLogMapper::toResponseDto)
-                .collect(Collectors.toList());
+        return TourLogFeedDto.builder()
+                .logs(logs.stream()
+                        .map(tourLogMapper::toResponseDto)
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Opaque feed cursor: URL-safe Base64 of "date|id" of the last returned log
+     */
+    private String encodeCursor(TourLog tourLog) {
+        String raw = tourLog.getDate() + "|" + tourLog.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private FeedCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new FeedCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid feed cursor: " + cursor);
+        }
+    }
+
+    private record FeedCursor(LocalDateTime date, Long id) {
+    }
+
+    /**
+     * Lock the log's tour before changing the log, so rollup and sketch updates of the tour run one after another
+     */
+    private void lockTour(TourLog tourLog) {
+        tourRepository.findByIdForUpdate(tourLog.getTour().getId());
+    }
+
+    /**
+     * Drop the cached log summary of a tour (applied after commit)
+     */
+    private void evictTourLogSummary(Long tourId) {
+        Cache cache = cacheManager.getCache(CacheConfig.TOUR_LOG_SUMMARIES);
+        if (cache != null) {
+            cache.evict(tourId);
+        }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,175 @@
+package org.example.tourplannerbackend.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.entity.TourLog;
+import org.example.tourplannerbackend.entity.TourLogSketch;
+import org.example.tourplannerbackend.repository.TourLogMeasures;
+import org.example.tourplannerbackend.repository.TourLogRepository;
+import org.example.tourplannerbackend.repository.TourLogSketchRepository;
+import org.example.tourplannerbackend.stats.LogDistribution;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Maintains one distribution sketch per tour so statistics are read from a single row
+ * instead of scanning all logs of the tour.
+ * New logs are merged into the sketch; updates and deletes rebuild the tour's sketch,
+ * because quantile sketches cannot remove values. Callers hold the tour's row lock
+ * (TourRepository.findByIdForUpdate), so two first logs of a tour never both create its sketch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TourLogSketchService {
+
+    private static final int REBUILD_BATCH_SIZE = 100;
+
+    private final TourLogSketchRepository sketchRepository;
+    private final TourLogRepository tourLogRepository;
+    private final EntityManager entityManager;
+    private final LeaderboardService leaderboardService;
+    private final SimilarTourService similarTourService;
+
+    /**
+     * Merge newly created logs of a tour into its sketch
+     */
+    public void logsAdded(Long tourId, Collection<TourLog> tourLogs) {
+        if (tourLogs.isEmpty()) {
+            return;
+        }
+        TourLogSketch sketch = sketchRepository.findForUpdate(tourId)
+                .orElseGet(() -> new TourLogSketch(tourId));
+        LogDistribution distribution = LogDistribution.of(sketch);
+        tourLogs.forEach(tourLog -> distribution.add(tourLog.getTotalDistance(), tourLog.getTotalTime(),
+                tourLog.getRating(), tourLog.getDifficulty()));
+        distribution.writeTo(sketch);
+        sketchRepository.save(sketch);
+        leaderboardService.scoresChanged(tourId, sketch.getLogCount(), sketch.getRatingSum());
+        similarTourService.tourChanged(tourId);
+    }
+
+    /**
+     * Rebuild the sketch of a tour from its logs after logs were updated or deleted
+     */
+    public void logsChanged(Long tourId) {
+        // Sketch locked before the logs are read, so the rebuild includes every write committed before ours
+        Optional<TourLogSketch> existing = sketchRepository.findForUpdate(tourId);
+        List<TourLogMeasures> measures = tourLogRepository.findMeasuresByTour(tourId);
+        if (measures.isEmpty()) {
+            existing.ifPresent(sketchRepository::delete);
+            leaderboardService.tourRemoved(tourId);
+            similarTourService.tourChanged(tourId);
+            return;
+        }
+        LogDistribution distribution = LogDistribution.empty();
+        measures.forEach(m -> distribution.add(m.getTotalDistance(), m.getTotalTime(), m.getRating(), m.getDifficulty()));
+
+        TourLogSketch sketch = existing.orElseGet(() -> new TourLogSketch(tourId));
+        distribution.writeTo(sketch);
+        sketchRepository.save(sketch);
+        leaderboardService.scoresChanged(tourId, sketch.getLogCount(), sketch.getRatingSum());
+        similarTourService.tourChanged(tourId);
+    }
+
+    /**
+     * Drop the sketch of a deleted tour
+     */
+    public void tourDeleted(Long tourId) {
+        sketchRepository.findById(tourId).ifPresent(sketchRepository::delete);
+        leaderboardService.tourRemoved(tourId);
+    }
+
+    /**
+     * Drop the sketches of deleted tours (one lookup, batched deletes)
+     */
+    public void toursDeleted(Collection<Long> tourIds) {
+        sketchRepository.deleteAll(sketchRepository.findAllById(tourIds));
+        tourIds.forEach(leaderboardService::tourRemoved);
+    }
+
+    /**
+     * Raw counts and sums of a tour's logs (empty if it has none)
+     */
+    @Transactional(readOnly = true)
+    public Optional<TourLogSketch> getSketch(Long tourId) {
+        return sketchRepository.findById(tourId);
+    }
+
+    /**
+     * Distribution of a tour's logs (empty if it has none)
+     */
+    @Transactional(readOnly = true)
+    public LogDistribution getDistribution(Long tourId) {
+        return sketchRepository.findById(tourId)
+                .map(LogDistribution::of)
+                .orElseGet(LogDistribution::empty);
+    }
+
+    /**
+     * Rebuild all sketches from tour_logs in one pass over the logs ordered by tour
+     * Sketches are overwritten in place (no empty window for readers), stale ones removed at the end
+     */
+    public void rebuildAll() {
+        log.info("Rebuilding tour log sketches");
+        long start = System.currentTimeMillis();
+
+        int written = 0;
+        Long currentTourId = null;
+        LogDistribution distribution = null;
+        try (Stream<TourLogMeasures> measures = tourLogRepository.streamAllMeasures()) {
+            for (TourLogMeasures m : (Iterable<TourLogMeasures>) measures::iterator) {
+                if (!Objects.equals(m.getTourId(), currentTourId)) {
+                    if (distribution != null) {
+                        store(currentTourId, distribution);
+                        if (++written % REBUILD_BATCH_SIZE == 0) {
+                            entityManager.flush();
+                            entityManager.clear();
+                        }
+                    }
+                    currentTourId = m.getTourId();
+                    distribution = LogDistribution.empty();
+                }
+                distribution.add(m.getTotalDistance(), m.getTotalTime(), m.getRating(), m.getDifficulty());
+            }
+        }
+        if (distribution != null) {
+            store(currentTourId, distribution);
+            written++;
+        }
+        sketchRepository.flush();
+        int removed = sketchRepository.deleteWithoutLogs();
+
+        log.info("Rebuilt {} tour log sketches ({} stale removed) in {} ms",
+                written, removed, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Backfill once on startup when logs exist but no sketches do (first start after the table was added)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0) // before the leaderboards are built from the sketches
+    public void backfillIfEmpty() {
+        if (sketchRepository.count() == 0 && tourLogRepository.count() > 0) {
+            rebuildAll();
+        }
+    }
+
+    private void store(Long tourId, LogDistribution distribution) {
+        TourLogSketch sketch = sketchRepository.findById(tourId)
+                .orElseGet(() -> new TourLogSketch(tourId));
+        distribution.writeTo(sketch);
+        sketchRepository.save(sketch);
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.tourplannerbackend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.exception.ResourceNotFoundException;
+import org.example.tourplannerbackend.repository.TourReportVersion;
+import org.example.tourplannerbackend.repository.TourRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Disk cache of rendered tour reports, keyed by tour ID and content version.
+ * The version is read with one aggregate query, so an unchanged tour costs that query and a file read
+ * instead of a render. The cache keeps one report per tour within a byte budget, evicting the least
+ * recently served reports first. It lives in memory and its directory is emptied on startup.
+ */
+@Service
+@Slf4j
+public class TourReportCache {
+
+    // Part of every version; bump it when the tour report layout changes so clients do not keep old ETags
+    private static final String LAYOUT_REVISION = "r2";
+
+    private final ReportService reportService;
+    private final TourRepository tourRepository;
+    private final Path cacheDir;
+    private final long maxBytes;
+    private final Map<Long, CachedReport> reports = new LinkedHashMap<>(16, 0.75f, true); // access order, eldest = LRU
+    private long totalBytes;
+
+    public TourReportCache(ReportService reportService,
+                           TourRepository tourRepository,
+                           @Value("${tourplanner.reports.cache-dir:${java.io.tmpdir}/tourplanner-report-cache}") String cacheDir,
+                           @Value("${tourplanner.reports.cache-max-bytes:268435456}") long maxBytes) {
+        this.reportService = reportService;
+        this.tourRepository = tourRepository;
+        this.cacheDir = Paths.get(cacheDir);
+        this.maxBytes = maxBytes;
+    }
+
+    @PostConstruct
+    public void prepareCacheDir() throws IOException {
+        Files.createDirectories(cacheDir);
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            files.forEach(this::deleteQuietly);
+        }
+    }
+
+    /**
+     * Current content version of the tour's report (also used as its ETag)
+     */
+    public String currentVersion(Long tourId) {
+        TourReportVersion version = tourRepository.findReportVersion(tourId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + tourId));
+        return LAYOUT_REVISION + "-" + stamp(version.getTourUpdatedAt()) + "-"
+                + version.getLogCount() + "-" + stamp(version.getLastLogUpdatedAt());
+    }
+
+    /**
+     * Report of the given version with its file opened for reading, rendered and stored on a miss.
+     * The file is opened while holding the cache lock, so no eviction can delete it first; once open it
+     * stays readable after a delete. Concurrent misses may render twice; the first stored file wins.
+     */
+    public OpenReport open(Long tourId, String version) throws IOException {
+        synchronized (reports) {
+            CachedReport cached = reports.get(tourId);
+            if (cached != null && cached.version().equals(version)) {
+                log.debug("Tour report cache hit for tour {} ({})", tourId, version);
+                return openFile(cached);
+            }
+        }
+
+        log.debug("Tour report cache miss for tour {} ({})", tourId, version);
+        byte[] pdf = reportService.generateTourReport(tourId);
+        Path temp = Files.createTempFile(cacheDir, "render-", ".tmp");
+        try {
+            Files.write(temp, pdf);
+            synchronized (reports) {
+                CachedReport cached = reports.get(tourId);
+                if (cached != null && cached.version().equals(version)) {
+                    return openFile(cached);
+                }
+                Path file = cacheDir.resolve(tourId + "-" + version + ".pdf");
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                CachedReport report = new CachedReport(version, file, pdf.length);
+                if (cached != null) {
+                    remove(cached);
+                }
+                reports.put(tourId, report);
+                totalBytes += report.size();
+                evictOverBudget(tourId);
+                return openFile(report);
+            }
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Stored report of the given version, without rendering on a miss
+     */
+    public Optional<CachedReport> find(Long tourId, String version) {
+        synchronized (reports) {
+            CachedReport cached = reports.get(tourId);
+            return cached != null && cached.version().equals(version) ? Optional.of(cached) : Optional.empty();
+        }
+    }
+
+    // Least recently served first; the report just stored stays even if it alone exceeds the budget
+    private void evictOverBudget(Long keep) {
+        Iterator<Map.Entry<Long, CachedReport>> eldest = reports.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Long, CachedReport> entry = eldest.next();
+            if (!entry.getKey().equals(keep)) {
+                eldest.remove();
+                remove(entry.getValue());
+                log.debug("Evicted tour report of tour {} from the cache", entry.getKey());
+            }
+        }
+    }
+
+    // Callers of open got their stream under the same lock, so they keep reading the file after the delete
+    private void remove(CachedReport report) {
+        totalBytes -= report.size();
+        deleteQuietly(report.file());
+    }
+
+    private static OpenReport openFile(CachedReport report) throws IOException {
+        return new OpenReport(report, Files.newInputStream(report.file()));
+    }
+
+    private static String stamp(LocalDateTime time) {
+        if (time == null) {
+            return "0";
+        }
+        // Microseconds, the precision the timestamps are stored with
+        return Long.toString(time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000, 36);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete cached report {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Rendered report file of one version of a tour
+     */
+    public record CachedReport(String version, Path file, long size) {
+    }
+
+    /**
+     * Cached report with its file opened; the caller closes the stream
+     */
+    public record OpenReport(CachedReport report, InputStream content) {
+    }
+}
@@ -1,20 +1,57 @@
 package org.example.tourplannerbackend.service;
 
+import com.tdunning.math.stats.TDigest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.tourplannerbackend.config.CacheConfig;
+import org.example.tourplannerbackend.dto.BulkItemResultDto;
+import org.example.tourplannerbackend.dto.BulkResultDto;
+import org.example.tourplannerbackend.dto.BulkUpdateItemDto;
+import org.example.tourplannerbackend.dto.ChangeEventType;
+import org.example.tourplannerbackend.dto.FacetCountDto;
+import org.example.tourplannerbackend.dto.FieldSelection;
+import org.example.tourplannerbackend.dto.NearbyTourDto;
+import org.example.tourplannerbackend.dto.PercentilesDto;
 import org.example.tourplannerbackend.dto.TourRequestDto;
+import org.example.tourplannerbackend.dto.TourFacetsDto;
 import org.example.tourplannerbackend.dto.TourResponseDto;
 import org.example.tourplannerbackend.dto.TourStatisticsDto;
 import org.example.tourplannerbackend.dto.TourSummaryDto;
 import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.entity.TourLogSketch;
+import org.example.tourplannerbackend.exception.BadRequestException;
 import org.example.tourplannerbackend.exception.ResourceNotFoundException;
+import org.example.tourplannerbackend.geo.GeoHash;
+import org.example.tourplannerbackend.mapper.TourLogMapper;
 import org.example.tourplannerbackend.mapper.TourMapper;
+import org.example.tourplannerbackend.repository.TourFacetCell;
+import org.example.tourplannerbackend.repository.TourListRow;
+import org.example.tourplannerbackend.repository.TourLocation;
+import org.example.tourplannerbackend.repository.TourLogRepository;
 import org.example.tourplannerbackend.repository.TourRepository;
+import org.example.tourplannerbackend.repository.TourSpecifications;
+import org.example.tourplannerbackend.stats.LogDistribution;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.TreeMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -22,34 +59,94 @@ import java.util.stream.Collectors;
 @Transactional
 public class TourService {
 
+    public static final double MAX_SEARCH_RADIUS_KM = 2000;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_EMBEDDED_LOGS = 1000;
+
+    // Facet bucket lower bounds; must match the CASE expressions in TourRepository.findFacetCells
+    private static final double[] DISTANCE_FACET_BOUNDS = {0, 10, 50, 100, 250}; // km
+    private static final double[] DURATION_FACET_BOUNDS = {0, 60, 180, 360, 720}; // minutes
+    private static final double[] RATING_FACET_BOUNDS = {1, 2, 3, 4}; // average rating, last bucket includes 5
+    private static final double MAX_RATING = 5;
+    private static final Comparator<NearbyCandidate> NEAREST_FIRST = Comparator
+            .comparingDouble(NearbyCandidate::distanceKm)
+            .thenComparing(NearbyCandidate::tourId);
+
     private final TourRepository tourRepository;
     private final TourMapper tourMapper;
+    private final TourLogRepository tourLogRepository;
+    private final TourLogMapper tourLogMapper;
     private final RouteService routeService; // To be implemented
+    private final BulkRequestValidator bulkRequestValidator;
+    private final CacheManager cacheManager;
+    private final TourLogRollupService tourLogRollupService;
+    private final TourLogSketchService tourLogSketchService;
+    private final LeaderboardService leaderboardService;
+    private final SimilarTourService similarTourService;
+    private final ChangeFeedService changeFeedService;
+    private final SyncService syncService;
 
     /**
      * Get all tours with summary information
+     * Popularity and child-friendliness come from the tours' log sketches, so this is one statement
      */
     @Transactional(readOnly = true)
     public List<TourSummaryDto> getAllTours() {
         log.info("Fetching all tours");
-        List<Tour> tours = tourRepository.findAll();
-        log.info("Found {} tours", tours.size());
+        List<TourListRow> rows = tourRepository.findListRows();
+        log.info("Found {} tours", rows.size());
 
-        return tours.stream()
+        return rows.stream()
                 .map(tourMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Get tour by ID with full details
+     * Stream all tours as summaries without materializing the result list
+     * Rows are projections rather than entities, so nothing accumulates in the persistence context
+     */
+    @Transactional(readOnly = true)
+    public void streamAllTours(Consumer<TourSummaryDto> consumer) {
+        log.info("Streaming all tours");
+        try (Stream<TourListRow> rows = tourRepository.streamListRows()) {
+            rows.forEach(row -> consumer.accept(tourMapper.toSummaryDto(row)));
+        }
+    }
+
+    /**
+     * Get tour by ID with only the requested fields computed
+     * The tourLogs collection is never loaded: log-derived values come from the tour's log sketch,
+     * and embedded logs (only with includeLogs) are the newest logsLimit ones from a limit query.
      */
     @Transactional(readOnly = true)
-    public TourResponseDto getTourById(Long id) {
-        log.info("Fetching tour with ID: {}", id);
+    public TourResponseDto getTourById(Long id, FieldSelection fields, boolean includeLogs, int logsLimit) {
+        if (logsLimit < 1 || logsLimit > MAX_EMBEDDED_LOGS) {
+            throw new BadRequestException("logsLimit must be between 1 and " + MAX_EMBEDDED_LOGS);
+        }
+        log.info("Fetching tour with ID: {} (fields: {}, logs: {})", id,
+                fields.isAll() ? "all" : "selected", includeLogs ? logsLimit : 0);
         Tour tour = tourRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + id));
 
-        return tourMapper.toResponseDto(tour);
+        TourResponseDto dto = tourMapper.toHeaderDto(tour);
+
+        if (fields.includesAny("popularity", "childFriendliness", "tourLogsCount")) {
+            TourLogSketch sketch = tourLogSketchService.getSketch(id).orElse(null);
+            long logCount = sketch != null ? sketch.getLogCount() : 0;
+            dto.setPopularity((int) logCount);
+            dto.setTourLogsCount((int) logCount);
+            dto.setChildFriendliness(logCount > 0 ?
+                    Tour.childFriendliness((double) sketch.getDifficultySum() / logCount,
+                            (double) sketch.getTimeSum() / logCount, tour.getDistance()) : 0);
+        }
+
+        if (includeLogs && fields.includes("tourLogs")) {
+            dto.setTourLogs(tourLogRepository.findNewestByTour(id, Limit.of(logsLimit)).stream()
+                    .map(tourLogMapper::toResponseDto)
+                    .collect(Collectors.toList()));
+        }
+
+        return dto;
     }
 
     /**
@@ -74,6 +171,9 @@ public class TourService {
         }
 
         Tour savedTour = tourRepository.save(tour);
+        similarTourService.tourChanged(savedTour.getId());
+        syncService.tourChanged(savedTour.getId());
+        changeFeedService.tourChanged(ChangeEventType.TOUR_CREATED, savedTour.getId());
         log.info("Tour created with ID: {}", savedTour.getId());
 
         return tourMapper.toResponseDto(savedTour);
@@ -82,15 +182,23 @@ public class TourService {
     /**
      * Update existing tour
      */
+    @CacheEvict(cacheNames = CacheConfig.TOUR_LOG_SUMMARIES, key = "#id")
     public TourResponseDto updateTour(Long id, TourRequestDto tourRequestDto) {
         log.info("Updating tour with ID: {}", id);
 
         Tour existingTour = tourRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + id));
 
+        String previousTransportType = existingTour.getTransportType();
+
         // Update fields
         tourMapper.updateEntityFromDto(tourRequestDto, existingTour);
 
+        if (!Objects.equals(previousTransportType, existingTour.getTransportType())) {
+            tourLogRollupService.transportTypeChanged(id, existingTour.getTransportType());
+        }
+        leaderboardService.tourUpdated(existingTour);
+
         // Check if route needs recalculation
         if (routeDataChanged(existingTour, tourRequestDto)) {
             try {
@@ -101,24 +209,143 @@ public class TourService {
         }
 
         Tour updatedTour = tourRepository.save(existingTour);
+        similarTourService.tourChanged(id);
+        syncService.tourChanged(id);
+        changeFeedService.tourChanged(ChangeEventType.TOUR_UPDATED, id);
         log.info("Tour updated: {}", updatedTour.getId());
 
         return tourMapper.toResponseDto(updatedTour);
     }
 
     /**
-     * Delete tour
+     * Create many tours in one transaction with batched inserts
+     * All items are validated first; if any is invalid nothing is written.
+     * Unlike createTour, no route is calculated - missing distance/time default to 0.
+     */
+    public BulkResultDto createToursBulk(List<TourRequestDto> tourRequestDtos) {
+        bulkRequestValidator.checkSize(tourRequestDtos);
+        log.info("Bulk creating {} tours", tourRequestDtos.size());
+
+        Map<Integer, BulkItemResultDto> failures = bulkRequestValidator.validateCreates(tourRequestDtos);
+        if (!failures.isEmpty()) {
+            log.warn("Bulk tour create rejected: {} invalid items", failures.size());
+            return bulkRequestValidator.rejected(tourRequestDtos.size(), failures);
+        }
+
+        List<Tour> tours = tourRequestDtos.stream()
+                .map(dto -> {
+                    Tour tour = tourMapper.toEntity(dto);
+                    if (tour.getDistance() == null) tour.setDistance(0.0);
+                    if (tour.getEstimatedTime() == null) tour.setEstimatedTime(0);
+                    return tour;
+                })
+                .collect(Collectors.toList());
+
+        List<Tour> savedTours = tourRepository.saveAll(tours);
+        List<Long> savedIds = savedTours.stream().map(Tour::getId).collect(Collectors.toList());
+        savedIds.forEach(similarTourService::tourChanged);
+        syncService.toursChanged(savedIds);
+        changeFeedService.toursChanged(ChangeEventType.TOUR_CREATED, savedIds);
+        log.info("Bulk created {} tours", savedTours.size());
+
+        return bulkRequestValidator.succeeded(savedIds, BulkItemResultDto.Status.CREATED);
+    }
+
+    /**
+     * Update many tours in one transaction with batched updates
+     * All IDs are loaded in one query and all items validated first; if any fails nothing is written.
+     * Routes are not recalculated.
+     */
+    public BulkResultDto updateToursBulk(List<BulkUpdateItemDto<TourRequestDto>> items) {
+        bulkRequestValidator.checkSize(items);
+        log.info("Bulk updating {} tours", items.size());
+
+        List<Long> ids = items.stream()
+                .filter(item -> item != null && item.getId() != null)
+                .map(BulkUpdateItemDto::getId)
+                .collect(Collectors.toList());
+        Map<Long, Tour> existingTours = tourRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Tour::getId, Function.identity()));
+
+        Map<Integer, BulkItemResultDto> failures = bulkRequestValidator.validateUpdates(items, existingTours.keySet());
+        if (!failures.isEmpty()) {
+            log.warn("Bulk tour update rejected: {} failed items", failures.size());
+            return bulkRequestValidator.rejected(items.size(), failures);
+        }
+
+        for (BulkUpdateItemDto<TourRequestDto> item : items) {
+            Tour tour = existingTours.get(item.getId());
+            String previousTransportType = tour.getTransportType();
+            tourMapper.updateEntityFromDto(item.getData(), tour);
+            if (!Objects.equals(previousTransportType, tour.getTransportType())) {
+                tourLogRollupService.transportTypeChanged(tour.getId(), tour.getTransportType());
+            }
+            leaderboardService.tourUpdated(tour);
+        }
+        tourRepository.flush();
+        evictTourLogSummaries(ids);
+        ids.forEach(similarTourService::tourChanged);
+        syncService.toursChanged(ids);
+        changeFeedService.toursChanged(ChangeEventType.TOUR_UPDATED, ids);
+        log.info("Bulk updated {} tours", items.size());
+
+        return bulkRequestValidator.succeeded(ids, BulkItemResultDto.Status.UPDATED);
+    }
+
+    /**
+     * Delete tour together with its logs (set-based, see deleteToursById)
      */
     public void deleteTour(Long id) {
         log.info("Deleting tour with ID: {}", id);
 
-        Tour tour = tourRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + id));
+        if (!tourRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Tour not found with ID: " + id);
+        }
 
-        tourRepository.delete(tour);
+        deleteToursById(List.of(id));
         log.info("Tour deleted: {}", id);
     }
 
+    /**
+     * Delete many tours with their logs at once
+     * All IDs are checked in one query first; if any is missing, duplicated or null nothing is deleted.
+     */
+    public BulkResultDto deleteToursBulk(List<Long> ids) {
+        bulkRequestValidator.checkSize(ids);
+        log.info("Bulk deleting {} tours", ids.size());
+
+        Set<Long> existingIds = new HashSet<>(tourRepository.findExistingIds(
+                ids.stream().filter(Objects::nonNull).collect(Collectors.toSet())));
+        Map<Integer, BulkItemResultDto> failures = bulkRequestValidator.validateDeletes(ids, existingIds);
+        if (!failures.isEmpty()) {
+            log.warn("Bulk tour delete rejected: {} failed items", failures.size());
+            return bulkRequestValidator.rejected(ids.size(), failures);
+        }
+
+        deleteToursById(ids);
+        log.info("Bulk deleted {} tours", ids.size());
+
+        return bulkRequestValidator.succeeded(ids, BulkItemResultDto.Status.DELETED);
+    }
+
+    /**
+     * Remove tours and all their logs with one DELETE statement each; no tour or log is loaded.
+     * Hibernate evicts the tour and log cache regions (and cached queries) after a bulk statement;
+     * the log summary cache is evicted here, derived tables are cleaned up set-based as well.
+     */
+    private void deleteToursById(List<Long> ids) {
+        int deletedLogs = tourLogRepository.deleteByTourIdIn(ids);
+        tourRepository.deleteByIdIn(ids);
+        log.debug("Deleted {} tours with {} logs", ids.size(), deletedLogs);
+
+        tourLogRollupService.toursDeleted(ids);
+        tourLogSketchService.toursDeleted(ids);
+        evictTourLogSummaries(ids);
+        ids.forEach(similarTourService::tourChanged);
+        syncService.toursDeleted(ids);
+        changeFeedService.toursChanged(ChangeEventType.TOUR_DELETED, ids);
+    }
+
     /**
      * Search tours with full-text search (Must-Have requirement)
      */
@@ -130,23 +357,80 @@ public class TourService {
             return getAllTours();
         }
 
-        List<Tour> tours = tourRepository.findByComprehensiveSearch(searchTerm.trim());
-        log.info("Found {} tours matching search term", tours.size());
+        List<TourListRow> rows = tourRepository.findListRowsByComprehensiveSearch(searchTerm.trim());
+        log.info("Found {} tours matching search term", rows.size());
 
-        return tours.stream()
+        return rows.stream()
                 .map(tourMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Streaming variant of searchTours
+     */
+    @Transactional(readOnly = true)
+    public void streamSearchTours(String searchTerm, Consumer<TourSummaryDto> consumer) {
+        log.info("Streaming tours matching term: '{}'", searchTerm);
+
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            streamAllTours(consumer);
+            return;
+        }
+
+        try (Stream<TourListRow> rows = tourRepository.streamListRowsByComprehensiveSearch(searchTerm.trim())) {
+            rows.forEach(row -> consumer.accept(tourMapper.toSummaryDto(row)));
+        }
+    }
+
+    /**
+     * Facet counts for the tours matching a search (all tours for an empty term).
+     * The database groups the matches by transport type and bucket combination in one pass;
+     * the per-facet counts are the marginals of those cells.
+     */
+    @Transactional(readOnly = true)
+    public TourFacetsDto getSearchFacets(String searchTerm) {
+        String term = searchTerm == null ? "" : searchTerm.trim();
+        log.info("Computing search facets for term: '{}'", term);
+
+        List<TourFacetCell> cells = term.isEmpty() ?
+                tourRepository.findFacetCells() :
+                tourRepository.findFacetCellsBySearchTerm(term);
+
+        Map<String, Long> transportTypes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        long[] distance = new long[DISTANCE_FACET_BOUNDS.length + 1]; // last slot: unknown
+        long[] duration = new long[DURATION_FACET_BOUNDS.length + 1];
+        long[] rating = new long[RATING_FACET_BOUNDS.length + 1]; // last slot: unrated
+        long total = 0;
+        for (TourFacetCell cell : cells) {
+            long count = cell.getTourCount();
+            total += count;
+            transportTypes.merge(Objects.requireNonNullElse(cell.getTransportType(), "unknown"), count, Long::sum);
+            distance[slot(cell.getDistanceBucket(), distance.length)] += count;
+            duration[slot(cell.getDurationBucket(), duration.length)] += count;
+            rating[slot(cell.getRatingBucket(), rating.length)] += count;
+        }
+
+        return TourFacetsDto.builder()
+                .query(term)
+                .totalTours(total)
+                .transportTypes(transportTypes.entrySet().stream()
+                        .map(e -> FacetCountDto.builder().value(e.getKey()).count(e.getValue()).build())
+                        .collect(Collectors.toList()))
+                .distanceRanges(rangeFacets(DISTANCE_FACET_BOUNDS, null, distance, "unknown"))
+                .durationRanges(rangeFacets(DURATION_FACET_BOUNDS, null, duration, "unknown"))
+                .ratingBuckets(rangeFacets(RATING_FACET_BOUNDS, MAX_RATING, rating, "unrated"))
+                .build();
+    }
+
     /**
      * Get tours by transport type
      */
     @Transactional(readOnly = true)
     public List<TourSummaryDto> getToursByTransportType(String transportType) {
         log.info("Fetching tours by transport type: {}", transportType);
-        List<Tour> tours = tourRepository.findByTransportTypeIgnoreCase(transportType);
+        List<TourListRow> rows = tourRepository.findListRowsByTransportType(transportType);
 
-        return tours.stream()
+        return rows.stream()
                 .map(tourMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
@@ -157,13 +441,107 @@ public class TourService {
     @Transactional(readOnly = true)
     public List<TourSummaryDto> getToursByLocation(String location) {
         log.info("Fetching tours by location: {}", location);
-        List<Tour> tours = tourRepository.findByLocation(location);
+        List<TourListRow> rows = tourRepository.findListRowsByLocation(location);
+
+        return rows.stream()
+                .map(tourMapper::toSummaryDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get tours starting within radiusKm of a point, nearest first
+     * Candidates come from a geohash cell cover (index range scans) as bare start coordinates and get an exact
+     * haversine check; only the nearest (page + 1) * size are kept, and only the requested page is mapped
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyTourDto> getToursNear(double latitude, double longitude, double radiusKm, int page, int size) {
+        log.info("Fetching tours within {} km of [{}, {}]", radiusKm, latitude, longitude);
+        validateCoordinate(latitude, longitude);
+        if (radiusKm <= 0 || radiusKm > MAX_SEARCH_RADIUS_KM) {
+            throw new BadRequestException("radiusKm must be between 0 and " + MAX_SEARCH_RADIUS_KM);
+        }
+        validatePage(page, size);
+
+        int precision = GeoHash.precisionForRadius(latitude, radiusKm);
+        if (precision == 0) {
+            // No cell cover exists this close to a pole: it would have to scan every tour
+            throw new BadRequestException("radiusKm " + radiusKm + " is too large at latitude " + latitude
+                    + "; use the bounding box search near the poles");
+        }
+        List<TourLocation> candidates = tourRepository.findStartLocations(TourSpecifications.startsInGeohashCells(
+                GeoHash.coveringCells(latitude, longitude, precision)));
+        log.debug("Radius search at geohash precision {} produced {} candidates", precision, candidates.size());
+
+        // Bounded max-heap: the farthest kept candidate is dropped first, so nothing beyond the page is sorted
+        long keep = (long) (page + 1) * size;
+        PriorityQueue<NearbyCandidate> nearest = new PriorityQueue<>(NEAREST_FIRST.reversed());
+        for (TourLocation candidate : candidates) {
+            double distanceKm = GeoHash.haversineKm(latitude, longitude, candidate.latitude(), candidate.longitude());
+            if (distanceKm <= radiusKm) {
+                nearest.add(new NearbyCandidate(candidate.id(), distanceKm));
+                if (nearest.size() > keep) {
+                    nearest.poll();
+                }
+            }
+        }
+        List<NearbyCandidate> pageOfCandidates = nearest.stream()
+                .sorted(NEAREST_FIRST)
+                .skip((long) page * size)
+                .toList();
+        if (pageOfCandidates.isEmpty()) {
+            return List.of();
+        }
+
+        // Only the page is mapped, from its sketch-joined list rows
+        Map<Long, TourListRow> rows = tourRepository.findListRowsByIdIn(pageOfCandidates.stream()
+                        .map(NearbyCandidate::tourId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(TourListRow::getId, Function.identity()));
+        return pageOfCandidates.stream()
+                .filter(candidate -> rows.containsKey(candidate.tourId()))
+                .map(candidate -> NearbyTourDto.builder()
+                        .tour(tourMapper.toSummaryDto(rows.get(candidate.tourId())))
+                        .distanceKm(candidate.distanceKm())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get tours starting inside a bounding box, paginated by ID
+     */
+    @Transactional(readOnly = true)
+    public List<TourSummaryDto> getToursInBoundingBox(double minLat, double minLon, double maxLat, double maxLon,
+                                                      int page, int size) {
+        log.info("Fetching tours starting within [{}, {}] - [{}, {}]", minLat, minLon, maxLat, maxLon);
+        validateCoordinate(minLat, minLon);
+        validateCoordinate(maxLat, maxLon);
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new BadRequestException("Bounding box minimum must not exceed its maximum");
+        }
+        validatePage(page, size);
 
-        return tours.stream()
+        return tourRepository.findByStartWithinBox(minLat, minLon, maxLat, maxLon, PageRequest.of(page, size))
+                .stream()
                 .map(tourMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
 
+    private void validateCoordinate(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Invalid coordinate: [" + latitude + ", " + longitude + "]");
+        }
+    }
+
+    private void validatePage(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private record NearbyCandidate(Long tourId, double distanceKm) {
+    }
+
     /**
      * Calculate route for existing tour
      */
@@ -176,6 +554,9 @@ public class TourService {
         try {
             tour = routeService.calculateRoute(tour);
             Tour updatedTour = tourRepository.save(tour);
+            similarTourService.tourChanged(id);
+            syncService.tourChanged(id);
+            changeFeedService.tourChanged(ChangeEventType.ROUTE_CALCULATED, id);
             log.info("Route calculated and saved for tour: {}", id);
 
             return tourMapper.toResponseDto(updatedTour);
@@ -185,6 +566,16 @@ public class TourService {
         }
     }
 
+    /**
+     * Drop cached log summaries (they contain the tour name); applied after commit
+     */
+    private void evictTourLogSummaries(List<Long> tourIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.TOUR_LOG_SUMMARIES);
+        if (cache != null) {
+            tourIds.forEach(cache::evict);
+        }
+    }
+
     /**
      * Check if route-relevant data has changed
      */
@@ -196,6 +587,7 @@ public class TourService {
 
     /**
      * Get tour statistics
+     * Read from the tour's distribution sketch (one row) instead of loading all of its logs
      */
     @Transactional(readOnly = true)
     public TourStatisticsDto getTourStatistics(Long id) {
@@ -204,24 +596,64 @@ public class TourService {
         Tour tour = tourRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tour not found with ID: " + id));
 
+        LogDistribution distribution = tourLogSketchService.getDistribution(id);
+        int totalLogs = (int) distribution.getCount();
+
         return TourStatisticsDto.builder()
                 .tourId(id)
                 .tourName(tour.getName())
-                .totalLogs(tour.getTourLogs().size())
-                .popularity(tour.getPopularity())
-                .childFriendliness(tour.getChildFriendliness())
-                .averageDistance(tour.getTourLogs().stream()
-                        .mapToDouble(log -> log.getTotalDistance())
-                        .average().orElse(0.0))
-                .averageTime(tour.getTourLogs().stream()
-                        .mapToDouble(log -> log.getTotalTime())
-                        .average().orElse(0.0))
-                .averageRating(tour.getTourLogs().stream()
-                        .mapToDouble(log -> log.getRating())
-                        .average().orElse(0.0))
-                .averageDifficulty(tour.getTourLogs().stream()
-                        .mapToDouble(log -> log.getDifficulty())
-                        .average().orElse(0.0))
+                .totalLogs(totalLogs)
+                .popularity(totalLogs)
+                .childFriendliness(totalLogs > 0 ? Tour.childFriendliness(distribution.getAverageDifficulty(),
+                        distribution.getAverageTime(), tour.getDistance()) : 0.0)
+                .averageDistance(distribution.getAverageDistance())
+                .averageTime(distribution.getAverageTime())
+                .averageRating(distribution.getAverageRating())
+                .averageDifficulty(distribution.getAverageDifficulty())
+                .timePercentiles(percentiles(distribution.getTimeDigest()))
+                .distancePercentiles(percentiles(distribution.getDistanceDigest()))
+                .ratingHistogram(distribution.getRatingHistogram())
+                .difficultyHistogram(distribution.getDifficultyHistogram())
                 .build();
     }
-}
\ No newline at end of file
+
+    private PercentilesDto percentiles(TDigest digest) {
+        if (digest.size() == 0) {
+            return null;
+        }
+        return PercentilesDto.builder()
+                .min(digest.getMin())
+                .p50(digest.quantile(0.5))
+                .p90(digest.quantile(0.9))
+                .p99(digest.quantile(0.99))
+                .max(digest.getMax())
+                .build();
+    }
+
+    // Bucket -1 (value missing) is counted in the last slot
+    private static int slot(Integer bucket, int slots) {
+        return bucket == null || bucket < 0 ? slots - 1 : bucket;
+    }
+
+    private static List<FacetCountDto> rangeFacets(double[] bounds, Double upperLimit, long[] counts, String missingLabel) {
+        List<FacetCountDto> facets = new ArrayList<>(counts.length);
+        for (int i = 0; i < bounds.length; i++) {
+            Double max = i + 1 < bounds.length ? Double.valueOf(bounds[i + 1]) : upperLimit;
+            facets.add(FacetCountDto.builder()
+                    .value(formatBound(bounds[i]) + (max != null ? "-" + formatBound(max) : "+"))
+                    .min(bounds[i])
+                    .max(max)
+                    .count(counts[i])
+                    .build());
+        }
+        // Tours without a value (or without logs) only show up when there are any
+        if (counts[bounds.length] > 0) {
+            facets.add(FacetCountDto.builder().value(missingLabel).count(counts[bounds.length]).build());
+        }
+        return facets;
+    }
+
+    private static String formatBound(double bound) {
+        return bound == Math.rint(bound) ? String.valueOf((long) bound) : String.valueOf(bound);
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.tourplannerbackend.stats;
+
+import com.tdunning.math.stats.MergingDigest;
+import com.tdunning.math.stats.TDigest;
+import org.example.tourplannerbackend.entity.TourLogSketch;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory, mergeable form of a TourLogSketch.
+ * Time and distance go into t-digests (bounded size, ~1% quantile error with compression 100),
+ * rating and difficulty into exact fixed-bucket histograms.
+ */
+public final class LogDistribution {
+
+    public static final int MAX_RATING = 5;
+    public static final int MAX_DIFFICULTY = 10;
+
+    private static final double COMPRESSION = 100;
+
+    private long count;
+    private double distanceSum;
+    private long timeSum;
+    private long ratingSum;
+    private long difficultySum;
+    private final long[] ratingHistogram;
+    private final long[] difficultyHistogram;
+    private final MergingDigest timeDigest;
+    private final MergingDigest distanceDigest;
+
+    private LogDistribution(long[] ratingHistogram, long[] difficultyHistogram,
+                            MergingDigest timeDigest, MergingDigest distanceDigest) {
+        this.ratingHistogram = ratingHistogram;
+        this.difficultyHistogram = difficultyHistogram;
+        this.timeDigest = timeDigest;
+        this.distanceDigest = distanceDigest;
+    }
+
+    public static LogDistribution empty() {
+        return new LogDistribution(new long[MAX_RATING], new long[MAX_DIFFICULTY],
+                new MergingDigest(COMPRESSION), new MergingDigest(COMPRESSION));
+    }
+
+    public static LogDistribution of(TourLogSketch sketch) {
+        LogDistribution distribution = new LogDistribution(
+                copyOf(sketch.getRatingHistogram(), MAX_RATING),
+                copyOf(sketch.getDifficultyHistogram(), MAX_DIFFICULTY),
+                readDigest(sketch.getTimeDigest()),
+                readDigest(sketch.getDistanceDigest()));
+        distribution.count = sketch.getLogCount();
+        distribution.distanceSum = sketch.getDistanceSum();
+        distribution.timeSum = sketch.getTimeSum();
+        distribution.ratingSum = sketch.getRatingSum();
+        distribution.difficultySum = sketch.getDifficultySum();
+        return distribution;
+    }
+
+    /**
+     * Add one log's measurements
+     */
+    public void add(double distance, int time, int rating, int difficulty) {
+        count++;
+        distanceSum += distance;
+        timeSum += time;
+        ratingSum += rating;
+        difficultySum += difficulty;
+        if (rating >= 1 && rating <= MAX_RATING) {
+            ratingHistogram[rating - 1]++;
+        }
+        if (difficulty >= 1 && difficulty <= MAX_DIFFICULTY) {
+            difficultyHistogram[difficulty - 1]++;
+        }
+        timeDigest.add(time);
+        distanceDigest.add(distance);
+    }
+
+    /**
+     * Store this distribution into the (persistent) sketch
+     */
+    public void writeTo(TourLogSketch sketch) {
+        sketch.setLogCount(count);
+        sketch.setDistanceSum(distanceSum);
+        sketch.setTimeSum(timeSum);
+        sketch.setRatingSum(ratingSum);
+        sketch.setDifficultySum(difficultySum);
+        sketch.setRatingHistogram(ratingHistogram.clone());
+        sketch.setDifficultyHistogram(difficultyHistogram.clone());
+        sketch.setTimeDigest(writeDigest(timeDigest));
+        sketch.setDistanceDigest(writeDigest(distanceDigest));
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getAverageDistance() {
+        return count > 0 ? distanceSum / count : 0.0;
+    }
+
+    public double getAverageTime() {
+        return count > 0 ? (double) timeSum / count : 0.0;
+    }
+
+    public double getAverageRating() {
+        return count > 0 ? (double) ratingSum / count : 0.0;
+    }
+
+    public double getAverageDifficulty() {
+        return count > 0 ? (double) difficultySum / count : 0.0;
+    }
+
+    public TDigest getTimeDigest() {
+        return timeDigest;
+    }
+
+    public TDigest getDistanceDigest() {
+        return distanceDigest;
+    }
+
+    /**
+     * Log count per rating 1-5
+     */
+    public Map<Integer, Long> getRatingHistogram() {
+        return toMap(ratingHistogram);
+    }
+
+    /**
+     * Log count per difficulty 1-10
+     */
+    public Map<Integer, Long> getDifficultyHistogram() {
+        return toMap(difficultyHistogram);
+    }
+
+    private static Map<Integer, Long> toMap(long[] histogram) {
+        Map<Integer, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < histogram.length; i++) {
+            buckets.put(i + 1, histogram[i]);
+        }
+        return buckets;
+    }
+
+    private static long[] copyOf(long[] histogram, int length) {
+        return histogram != null ? Arrays.copyOf(histogram, length) : new long[length];
+    }
+
+    private static MergingDigest readDigest(byte[] bytes) {
+        return bytes != null ? MergingDigest.fromBytes(ByteBuffer.wrap(bytes)) : new MergingDigest(COMPRESSION);
+    }
+
+    private static byte[] writeDigest(MergingDigest digest) {
+        digest.compress();
+        ByteBuffer buffer = ByteBuffer.allocate(digest.smallByteSize());
+        digest.asSmallBytes(buffer);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.tourplannerbackend.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ordered index of items by key, supporting score increases and decreases in O(log n)
+ * and lock-free top-K reads in O(K). Writers must be externally serialized.
+ */
+public final class RankedIndex<T> {
+
+    private final ConcurrentSkipListSet<T> ordered;
+    private final Map<Long, T> byKey = new ConcurrentHashMap<>();
+
+    public RankedIndex(Comparator<T> order) {
+        this.ordered = new ConcurrentSkipListSet<>(order);
+    }
+
+    /**
+     * Insert or replace the item stored under the key
+     */
+    public void put(Long key, T item) {
+        T previous = byKey.put(key, item);
+        if (previous != null) {
+            ordered.remove(previous);
+        }
+        ordered.add(item);
+    }
+
+    public void remove(Long key) {
+        T previous = byKey.remove(key);
+        if (previous != null) {
+            ordered.remove(previous);
+        }
+    }
+
+    public T get(Long key) {
+        return byKey.get(key);
+    }
+
+    /**
+     * The first (at most) k items in index order
+     */
+    public List<T> top(int k) {
+        List<T> top = new ArrayList<>(Math.min(k, byKey.size()));
+        for (T item : ordered) {
+            if (top.size() == k) {
+                break;
+            }
+            top.add(item);
+        }
+        return top;
+    }
+}
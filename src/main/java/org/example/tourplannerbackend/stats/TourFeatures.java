@@ -0,0 +1,90 @@
+package org.example.tourplannerbackend.stats;
+
+import org.example.tourplannerbackend.entity.Tour;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Fixed-length feature vector of a tour for similarity search. Every block is scaled to roughly [0, 1]
+ * (locations to a few units) so that squared Euclidean distance weighs them comparably.
+ */
+public final class TourFeatures {
+
+    public static final int DIMENSIONS = 32; // 29 used, padded to a multiple of 8 for the scan loop
+
+    private static final int DISTANCE = 0;
+    private static final int TIME = 1;
+    private static final int TRANSPORT = 2;      // 5 one-hot slots
+    private static final int CHILD_FRIENDLINESS = 7;
+    private static final int RATING = 8;         // 5 slots, share of logs per rating
+    private static final int DIFFICULTY = 13;    // 10 slots, share of logs per difficulty
+    private static final int START = 23;         // unit vector (x, y, z)
+    private static final int END = 26;
+
+    private static final double MAX_DISTANCE_KM = 2000;
+    private static final double MAX_TIME_MINUTES = 2880;
+    private static final float LOCATION_WEIGHT = 10f; // 100 km apart ~ 0.16
+
+    private TourFeatures() {
+    }
+
+    public static float[] of(Tour tour, LogDistribution distribution) {
+        float[] features = new float[DIMENSIONS];
+
+        features[DISTANCE] = logScaled(tour.getDistance(), MAX_DISTANCE_KM);
+        features[TIME] = logScaled(tour.getEstimatedTime() != null ? tour.getEstimatedTime().doubleValue() : null,
+                MAX_TIME_MINUTES);
+        features[TRANSPORT + transportCategory(tour.getTransportType())] = 1f;
+
+        long logs = distribution.getCount();
+        if (logs > 0) {
+            features[CHILD_FRIENDLINESS] = (float) (Tour.childFriendliness(distribution.getAverageDifficulty(),
+                    distribution.getAverageTime(), tour.getDistance()) / 10);
+            fillShares(features, RATING, distribution.getRatingHistogram(), logs);
+            fillShares(features, DIFFICULTY, distribution.getDifficultyHistogram(), logs);
+        }
+
+        fillLocation(features, START, tour.getFromLatitude(), tour.getFromLongitude());
+        fillLocation(features, END, tour.getToLatitude(), tour.getToLongitude());
+        return features;
+    }
+
+    private static float logScaled(Double value, double max) {
+        if (value == null || value <= 0) {
+            return 0f;
+        }
+        return (float) Math.min(1.0, Math.log1p(value) / Math.log1p(max));
+    }
+
+    private static int transportCategory(String transportType) {
+        if (transportType == null) {
+            return 4;
+        }
+        return switch (transportType.trim().toLowerCase(Locale.ROOT)) {
+            case "car" -> 0;
+            case "bicycle", "bike" -> 1;
+            case "walking", "hiking", "running" -> 2;
+            case "public transport" -> 3;
+            default -> 4;
+        };
+    }
+
+    private static void fillShares(float[] features, int offset, Map<Integer, Long> histogram, long total) {
+        int i = 0;
+        for (Long count : histogram.values()) {
+            features[offset + i++] = (float) count / total;
+        }
+    }
+
+    private static void fillLocation(float[] features, int offset, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        features[offset] = (float) (Math.cos(lat) * Math.cos(lon)) * LOCATION_WEIGHT;
+        features[offset + 1] = (float) (Math.cos(lat) * Math.sin(lon)) * LOCATION_WEIGHT;
+        features[offset + 2] = (float) Math.sin(lat) * LOCATION_WEIGHT;
+    }
+}
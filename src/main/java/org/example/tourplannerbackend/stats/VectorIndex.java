@@ -0,0 +1,119 @@
+package org.example.tourplannerbackend.stats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exact k-nearest-neighbour index over fixed-length float vectors (squared Euclidean distance).
+ * Vectors live back to back in one primitive array, so a lookup is a single linear scan the JIT can vectorize;
+ * for tens of thousands of tours that is well below a millisecond, without the recall loss of an approximate index.
+ */
+public final class VectorIndex {
+
+    private final int dimensions;
+    private float[] vectors;
+    private long[] ids;
+    private int size;
+    private final Map<Long, Integer> slots = new HashMap<>();
+
+    public VectorIndex(int dimensions, int initialCapacity) {
+        this.dimensions = dimensions;
+        this.vectors = new float[Math.max(1, initialCapacity) * dimensions];
+        this.ids = new long[Math.max(1, initialCapacity)];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean contains(long id) {
+        return slots.containsKey(id);
+    }
+
+    /**
+     * Insert or replace the vector of an id
+     */
+    public synchronized void put(long id, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + vector.length);
+        }
+        Integer slot = slots.get(id);
+        if (slot == null) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                vectors = Arrays.copyOf(vectors, size * 2 * dimensions);
+            }
+            slot = size++;
+            ids[slot] = id;
+            slots.put(id, slot);
+        }
+        System.arraycopy(vector, 0, vectors, slot * dimensions, dimensions);
+    }
+
+    /**
+     * Remove an id; the last vector moves into its slot
+     */
+    public synchronized void remove(long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        int last = --size;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            System.arraycopy(vectors, last * dimensions, vectors, slot * dimensions, dimensions);
+            slots.put(ids[slot], slot);
+        }
+    }
+
+    /**
+     * The k ids closest to the vector of the given id (excluding itself), nearest first;
+     * empty if the id is not indexed
+     */
+    public synchronized List<Neighbour> nearest(long id, int k) {
+        Integer self = slots.get(id);
+        if (self == null || k <= 0) {
+            return List.of();
+        }
+        int base = self * dimensions;
+        int capacity = Math.min(k, size - 1);
+        long[] bestIds = new long[capacity];
+        float[] bestDistances = new float[capacity];
+        int found = 0;
+
+        for (int slot = 0; slot < size; slot++) {
+            if (slot == self) {
+                continue;
+            }
+            int offset = slot * dimensions;
+            float distance = 0f;
+            for (int d = 0; d < dimensions; d++) {
+                float diff = vectors[offset + d] - vectors[base + d];
+                distance += diff * diff;
+            }
+            if (found < capacity || distance < bestDistances[found - 1]) {
+                // Insertion into the sorted top-k arrays
+                int position = found < capacity ? found++ : found - 1;
+                while (position > 0 && bestDistances[position - 1] > distance) {
+                    bestDistances[position] = bestDistances[position - 1];
+                    bestIds[position] = bestIds[position - 1];
+                    position--;
+                }
+                bestDistances[position] = distance;
+                bestIds[position] = ids[slot];
+            }
+        }
+
+        List<Neighbour> neighbours = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            neighbours.add(new Neighbour(bestIds[i], (float) Math.sqrt(bestDistances[i])));
+        }
+        return neighbours;
+    }
+
+    public record Neighbour(long id, float distance) {
+    }
+}
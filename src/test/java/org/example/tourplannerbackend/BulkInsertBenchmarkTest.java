@@ -0,0 +1,90 @@
+package org.example.tourplannerbackend;
+
+import org.example.tourplannerbackend.dto.BulkResultDto;
+import org.example.tourplannerbackend.dto.TourLogRequestDto;
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.repository.TourRepository;
+import org.example.tourplannerbackend.service.TourLogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares creating tour logs one request at a time with a single bulk request.
+ * Excluded from the normal build; run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmarkdb",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+public class BulkInsertBenchmarkTest {
+
+    private static final int LOGS = 1000;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private TourRepository tourRepository;
+
+    @Autowired
+    private TourLogService tourLogService;
+
+    private Tour tour;
+
+    @BeforeEach
+    void setUp() {
+        tourRepository.deleteAll();
+        tour = tourRepository.save(TourFixtures.tour("Benchmark tour", "Car"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tourRepository.deleteAll();
+    }
+
+    @Test
+    void singleVersusBulkInsert() {
+        List<TourLogRequestDto> requests = new ArrayList<>(LOGS);
+        for (int i = 0; i < LOGS; i++) {
+            requests.add(TourLogRequestDto.builder()
+                    .date(LocalDateTime.of(2024, 1, 1, 8, 0).plusHours(i))
+                    .comment("Log " + i)
+                    .difficulty(1 + i % 10)
+                    .totalDistance(10.0 + i)
+                    .totalTime(30 + i % 60)
+                    .rating(1 + i % 5)
+                    .build());
+        }
+
+        // Warm-up round so class loading and JIT do not count against the first variant
+        requests.subList(0, 100).forEach(request -> tourLogService.createTourLog(tour.getId(), request));
+        tourLogService.createTourLogsBulk(tour.getId(), requests.subList(0, 100));
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            requests.forEach(request -> tourLogService.createTourLog(tour.getId(), request));
+            long singleMs = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            BulkResultDto result = tourLogService.createTourLogsBulk(tour.getId(), requests);
+            long bulkMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(result.isSuccess());
+            System.out.printf("Round %d: %d logs single %d ms, bulk %d ms%n", round, LOGS, singleMs, bulkMs);
+        }
+    }
+}
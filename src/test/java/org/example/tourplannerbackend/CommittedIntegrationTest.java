@@ -0,0 +1,112 @@
+package org.example.tourplannerbackend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.tourplannerbackend.dto.TourLogRequestDto;
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.repository.SyncChangeRepository;
+import org.example.tourplannerbackend.repository.TourLogDailyRollupRepository;
+import org.example.tourplannerbackend.repository.TourLogSketchRepository;
+import org.example.tourplannerbackend.repository.TourRepository;
+import org.example.tourplannerbackend.service.LeaderboardService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base for the controller integration tests that need real commits
+ * Not transactional on purpose: caches, sketches, rollups and in-memory indexes are only updated after commit,
+ * so every request has to commit just like in production. Every subclass shares these properties,
+ * so they all run in one cached application context
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.example.tourplannerbackend.QueryCounter",
+        "tourplanner.test.query-budget=12",
+        "tourplanner.import.batch-size=2",
+        "logging.level.org.springframework.web=DEBUG"
+})
+@Import(QueryBudgetConfig.class)
+public abstract class CommittedIntegrationTest {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected TourRepository tourRepository;
+
+    @Autowired
+    protected TourLogDailyRollupRepository rollupRepository;
+
+    @Autowired
+    protected TourLogSketchRepository sketchRepository;
+
+    @Autowired
+    protected SyncChangeRepository syncChangeRepository;
+
+    @Autowired
+    protected LeaderboardService leaderboardService;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    protected Tour testTour;
+
+    @BeforeEach
+    void setUp() {
+        tourRepository.deleteAll();
+        rollupRepository.deleteAll();
+        sketchRepository.deleteAll();
+        syncChangeRepository.deleteAll();
+        leaderboardService.rebuild();
+
+        testTour = tourRepository.save(TourFixtures.viennaToSalzburg());
+    }
+
+    @AfterEach
+    void tearDown() {
+        tourRepository.deleteAll();
+        rollupRepository.deleteAll();
+        sketchRepository.deleteAll();
+        syncChangeRepository.deleteAll();
+    }
+
+    protected TourLogRequestDto logRequest(LocalDateTime date, int difficulty, double distance, int time, int rating) {
+        return TourLogRequestDto.builder()
+                .date(date)
+                .comment("Nice ride")
+                .difficulty(difficulty)
+                .totalDistance(distance)
+                .totalTime(time)
+                .rating(rating)
+                .build();
+    }
+
+    protected long createLog(TourLogRequestDto request) throws Exception {
+        return createLog(testTour.getId(), request);
+    }
+
+    protected long createLog(Long tourId, TourLogRequestDto request) throws Exception {
+        String response = mockMvc.perform(post("/api/tours/{tourId}/logs", tourId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.tourplannerbackend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for EventController
+ */
+public class EventControllerTest extends CommittedIntegrationTest {
+
+    @Test
+    void testChangeFeed_StreamsCommittedChanges() throws Exception {
+        MvcResult subscription = mockMvc.perform(get("/api/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        long logId = createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 3, 300.0, 200, 4));
+        mockMvc.perform(delete("/api/logs/{id}", logId))
+                .andExpect(status().isNoContent());
+
+        String stream = awaitStream(subscription, "event:log.deleted");
+        subscription.getRequest().getAsyncContext().complete();
+
+        assertTrue(stream.contains("event:log.created"), stream);
+        assertTrue(stream.contains("\"logIds\":[" + logId + "]"), stream);
+        assertTrue(stream.contains("\"tourIds\":[" + testTour.getId() + "]"), stream);
+        assertTrue(stream.indexOf("log.created") < stream.indexOf("log.deleted"), stream);
+    }
+
+    private String awaitStream(MvcResult subscription, String expected) throws Exception {
+        String content = "";
+        for (int i = 0; i < 250 && !content.contains(expected); i++) {
+            Thread.sleep(20);
+            content = subscription.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.tourplannerbackend;
+
+import org.example.tourplannerbackend.entity.Tour;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ImportExportController
+ */
+public class ImportExportControllerTest extends CommittedIntegrationTest {
+
+    @Test
+    void testImport_ReportsFailedRecordsByIndex() throws Exception {
+        // Batches of two: [0, 4] commits, [5, 6] is refused by the database (name too long) and retried one
+        // by one, [7] is committed after the malformed tail ends the import
+        String json = """
+                [
+                  {"name": "Linz loop", "fromLocation": "Linz", "toLocation": "Linz", "transportType": "Bicycle",
+                   "tourLogs": [{"date": "2024-05-01T10:00:00", "difficulty": 3, "totalDistance": 40.0, "totalTime": 120, "rating": 4}]},
+                  {"fromLocation": "Graz", "toLocation": "Vienna", "transportType": "Car"},
+                  {"name": "Bad distance", "fromLocation": "Graz", "toLocation": "Vienna", "transportType": "Car", "distance": "far"},
+                  {"name": "Bad log", "fromLocation": "Graz", "toLocation": "Vienna", "transportType": "Car",
+                   "tourLogs": [{"date": "2024-05-01T10:00:00", "difficulty": 3, "totalDistance": 40.0, "totalTime": 120, "rating": 9}]},
+                  {"name": "Danube cycle path", "fromLocation": "Passau", "toLocation": "Vienna", "transportType": "Bicycle"},
+                  {"name": "%s", "fromLocation": "Graz", "toLocation": "Vienna", "transportType": "Car"},
+                  {"name": "Wachau hike", "fromLocation": "Melk", "toLocation": "Krems", "transportType": "Hiking"},
+                  {"name": "Krems walk", "fromLocation": "Krems", "toLocation": "Krems", "transportType": "Hiking"},
+                  {"name": "Cut off", "fromLocation": "Gr
+                """.formatted("x".repeat(300));
+
+        mockMvc.perform(multipart("/api/import-export/import/tours")
+                        .file(new MockMultipartFile("file", "tours.json", MediaType.APPLICATION_JSON_VALUE,
+                                json.getBytes(StandardCharsets.UTF_8)))
+                        .header(QueryBudgetConfig.BUDGET_HEADER, 100))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed", is(8)))
+                .andExpect(jsonPath("$.imported", is(4)))
+                .andExpect(jsonPath("$.failed", is(4)))
+                .andExpect(jsonPath("$.error", startsWith("Malformed input after record 8")))
+                .andExpect(jsonPath("$.failures[*].index", contains(1, 2, 3, 5)))
+                .andExpect(jsonPath("$.failures[0].errors.name", is("Tour name is required")))
+                .andExpect(jsonPath("$.failures[1].errors.distance", containsString("far")))
+                .andExpect(jsonPath("$.failures[2].errors['tourLogs[0].rating']", is("Rating must be between 1 and 5")))
+                .andExpect(jsonPath("$.failures[3].errors.record", notNullValue()));
+
+        List<String> names = tourRepository.findAll().stream().map(Tour::getName).sorted().toList();
+        assertEquals(List.of("Danube cycle path", "Krems walk", "Linz loop", "Vienna to Salzburg", "Wachau hike"), names);
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.tourplannerbackend;
+
+import org.example.tourplannerbackend.dto.TourRequestDto;
+import org.example.tourplannerbackend.entity.Tour;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for LeaderboardController
+ */
+public class LeaderboardControllerTest extends CommittedIntegrationTest {
+
+    @Test
+    void testGetLeaderboard_PopularityAndRating() throws Exception {
+        Tour bikeTour = tourRepository.save(TourFixtures.tour("Danube cycle path", "Bicycle"));
+        Tour hikeTour = tourRepository.save(TourFixtures.tour("Schneeberg hike", "Hiking"));
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+        createLog(logRequest(date, 4, 100.0, 60, 3));
+        createLog(logRequest(date, 4, 100.0, 60, 3));
+        createLog(logRequest(date, 4, 100.0, 60, 3));
+        createLog(bikeTour.getId(), logRequest(date, 4, 40.0, 120, 5));
+        createLog(bikeTour.getId(), logRequest(date, 4, 40.0, 120, 4));
+        createLog(hikeTour.getId(), logRequest(date, 4, 10.0, 180, 5));
+
+        mockMvc.perform(get("/api/leaderboards/popularity"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].rank", is(1)))
+                .andExpect(jsonPath("$[0].tourId", is(testTour.getId().intValue())))
+                .andExpect(jsonPath("$[0].logCount", is(3)))
+                .andExpect(jsonPath("$[1].tourId", is(bikeTour.getId().intValue())));
+
+        mockMvc.perform(get("/api/leaderboards/rating").param("limit", "2"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].tourName", is("Schneeberg hike")))
+                .andExpect(jsonPath("$[0].averageRating", is(5.0)))
+                .andExpect(jsonPath("$[1].tourName", is("Danube cycle path")))
+                .andExpect(jsonPath("$[1].averageRating", is(4.5)));
+
+        mockMvc.perform(get("/api/leaderboards/rating").param("transportType", "bicycle"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].transportType", is("Bicycle")));
+    }
+
+    @Test
+    void testGetLeaderboard_FollowsDeletesAndTourChanges() throws Exception {
+        Tour otherTour = tourRepository.save(TourFixtures.tour("Linz loop", "Car"));
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+        long logId = createLog(logRequest(date, 4, 100.0, 60, 5));
+        createLog(logRequest(date, 4, 100.0, 60, 5));
+        createLog(otherTour.getId(), logRequest(date, 4, 100.0, 60, 2));
+
+        mockMvc.perform(delete("/api/logs/{id}", logId))
+                .andExpect(status().isNoContent());
+
+        // Tie on popularity is broken by tour ID
+        mockMvc.perform(get("/api/leaderboards/popularity").param("transportType", "car"))
+                .andExpect(jsonPath("$[0].tourId", is(testTour.getId().intValue())))
+                .andExpect(jsonPath("$[0].logCount", is(1)))
+                .andExpect(jsonPath("$[1].tourId", is(otherTour.getId().intValue())));
+
+        mockMvc.perform(put("/api/tours/{id}", otherTour.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TourRequestDto.builder()
+                                .name("Linz loop").fromLocation("Vienna").toLocation("Graz")
+                                .transportType("Bicycle").distance(10.0).estimatedTime(30).build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/leaderboards/popularity").param("transportType", "car"))
+                .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(get("/api/leaderboards/popularity").param("transportType", "bicycle"))
+                .andExpect(jsonPath("$[0].tourName", is("Linz loop")));
+
+        mockMvc.perform(delete("/api/tours/{id}", testTour.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/leaderboards/popularity"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].tourId", is(otherTour.getId().intValue())));
+    }
+
+    @Test
+    void testGetLeaderboard_InvalidMetric() throws Exception {
+        mockMvc.perform(get("/api/leaderboards/distance"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/leaderboards/rating").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
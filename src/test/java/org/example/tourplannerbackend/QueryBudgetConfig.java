@@ -0,0 +1,49 @@
+package org.example.tourplannerbackend;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Fails any request that prepares more SQL statements than its query budget, so lazy-load storms
+ * (one query per row while mapping) break the build instead of slipping through.
+ * Requests that legitimately scale with their input (bulk writes, imports) raise their own budget
+ * with the X-Query-Budget header.
+ */
+@TestConfiguration
+public class QueryBudgetConfig {
+
+    public static final String BUDGET_HEADER = "X-Query-Budget";
+
+    @Bean
+    public OncePerRequestFilter queryBudgetFilter(@Value("${tourplanner.test.query-budget:12}") int defaultBudget) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                String header = request.getHeader(BUDGET_HEADER);
+                int budget = header != null ? Integer.parseInt(header) : defaultBudget;
+                QueryCounter.start();
+                List<String> statements;
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    statements = QueryCounter.stop();
+                }
+                if (statements.size() > budget) {
+                    throw new AssertionError(request.getMethod() + " " + request.getRequestURI() + " ran "
+                            + statements.size() + " SQL statements, budget is " + budget + ":\n"
+                            + String.join("\n", statements));
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.tourplannerbackend;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.entity.TourLog;
+import org.example.tourplannerbackend.service.TourLogSketchService;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks that the list endpoints of every controller run a fixed number of queries,
+ * however many tours and logs they return
+ */
+public class QueryBudgetTest extends CommittedIntegrationTest {
+
+    @Autowired
+    private TourLogSketchService tourLogSketchService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testListEndpoints_RunFixedNumberOfQueries() throws Exception {
+        // More tours than the logs collection's batch size, so per-batch lazy loading would exceed the budget
+        for (int i = 0; i < 60; i++) {
+            Tour tour = TourFixtures.tour("Budget tour " + i, "Car");
+            tour.setFromLatitude(48.2);
+            tour.setFromLongitude(16.37);
+            for (int l = 0; l < 3; l++) {
+                TourLog tourLog = new TourLog(LocalDateTime.of(2024, 6, 1 + l, 9, 0), "budget log", 2, 10.0, 60, 4);
+                tour.addTourLog(tourLog);
+            }
+            tourRepository.save(tour);
+        }
+        tourLogSketchService.rebuildAll();
+        mockMvc.perform(coldWithinBudget(get("/api/tours")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(61)))
+                .andExpect(jsonPath("$[?(@.name == 'Budget tour 0')].popularity", contains(3)));
+        mockMvc.perform(coldWithinBudget(get("/api/tours/search").param("q", "budget")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(60)));
+        mockMvc.perform(coldWithinBudget(get("/api/tours/transport/{type}", "Car")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(61)));
+        mockMvc.perform(coldWithinBudget(get("/api/tours/within")
+                        .param("minLat", "48").param("minLon", "16").param("maxLat", "49").param("maxLon", "17")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].popularity", is(3)));
+        mockMvc.perform(coldWithinBudget(get("/api/logs/search").param("q", "budget")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(180)))
+                .andExpect(jsonPath("$[0].tourName", startsWith("Budget tour")));
+        mockMvc.perform(coldWithinBudget(get("/api/logs/recent")))
+                .andExpect(status().isOk());
+        mockMvc.perform(coldWithinBudget(get("/api/import-export/export/tours")))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Request with an empty second-level cache (every lazy load would hit the database) and a budget of two statements
+     */
+    private MockHttpServletRequestBuilder coldWithinBudget(MockHttpServletRequestBuilder request) {
+        // All regions, collections included (JPA evictAll leaves the collection regions in place)
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        return request.header(QueryBudgetConfig.BUDGET_HEADER, "2");
+    }
+}
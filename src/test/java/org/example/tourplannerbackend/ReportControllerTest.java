@@ -0,0 +1,196 @@
+package org.example.tourplannerbackend;
+
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import org.example.tourplannerbackend.entity.Tour;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ReportController
+ */
+public class ReportControllerTest extends CommittedIntegrationTest {
+
+    @Test
+    void testReportJobs_PollAndDownload() throws Exception {
+        createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5));
+
+        for (String submitUrl : List.of("/api/reports/tour/" + testTour.getId() + "/jobs", "/api/reports/summary/jobs")) {
+            MvcResult submitted = mockMvc.perform(post(submitUrl))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", startsWith("/api/reports/jobs/")))
+                    .andExpect(jsonPath("$.status", in(List.of("QUEUED", "RUNNING", "DONE"))))
+                    .andReturn();
+            String jobId = objectMapper.readTree(submitted.getResponse().getContentAsString()).get("id").asText();
+
+            String status = awaitReportJob(jobId);
+            assertEquals("DONE", status);
+            byte[] pdf = mockMvc.perform(get("/api/reports/jobs/{jobId}/result", jobId))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                    .andReturn().getResponse().getContentAsByteArray();
+            assertTrue(new String(pdf, 0, 4).startsWith("%PDF"));
+        }
+    }
+
+    @Test
+    void testSummaryReport_StreamsPdf() throws Exception {
+        Tour other = tourRepository.save(TourFixtures.tour("Graz loop", "Bicycle"));
+        createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5));
+        createLog(other.getId(), logRequest(LocalDateTime.of(2024, 5, 2, 10, 0), 6, 20.0, 90, 3));
+
+        MvcResult result = mockMvc.perform(get("/api/reports/summary").param("fresh", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] pdf = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String text = new String(pdf, StandardCharsets.ISO_8859_1);
+        assertTrue(text.startsWith("%PDF"));
+        assertTrue(text.trim().endsWith("%%EOF"));
+
+        // Log count and average rating per tour come from the log sketches
+        String content = PdfTextExtractor.getTextFromPage(new PdfReader(pdf), 1);
+        assertTrue(content.contains("Vienna to Salzburg Vienna Salzburg 295.0 km 180 min 1 5.0"), content);
+        assertTrue(content.contains("Graz loop Vienna Graz N/A N/A 1 3.0"), content);
+        assertTrue(content.contains("Total Tour Logs: 2"), content);
+    }
+
+    @Test
+    void testSummaryReport_ServesLatestSnapshot() throws Exception {
+        createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5));
+
+        MvcResult freshResult = mockMvc.perform(get("/api/reports/summary").param("fresh", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] fresh = mockMvc.perform(asyncDispatch(freshResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.AGE, "0"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Changes below the threshold leave the snapshot as it is
+        createLog(logRequest(LocalDateTime.of(2024, 5, 2, 10, 0), 6, 20.0, 90, 3));
+
+        MvcResult storedResult = mockMvc.perform(get("/api/reports/summary"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] stored = mockMvc.perform(asyncDispatch(storedResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().exists(HttpHeaders.AGE))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, fresh.length))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(fresh, stored);
+        assertTrue(PdfTextExtractor.getTextFromPage(new PdfReader(stored), 1).contains("Total Tour Logs: 1"));
+    }
+
+    @Test
+    void testTourReport_CachedByContentVersion() throws Exception {
+        createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5));
+
+        MvcResult first = mockMvc.perform(get("/api/reports/tour/{tourId}", testTour.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        byte[] pdf = first.getResponse().getContentAsByteArray();
+        String content = PdfTextExtractor.getTextFromPage(new PdfReader(pdf), 1);
+        assertTrue(content.contains("Distance: 295.00 km"), content);
+        assertTrue(content.contains("Average Rating: 5.00/5"), content);
+        assertTrue(content.contains("2024-05-01 10:00 100.00 60 4 5 Nice ride"), content);
+
+        // Unchanged tour: the stored file is served as is, or not at all for a matching If-None-Match
+        byte[] again = mockMvc.perform(get("/api/reports/tour/{tourId}", testTour.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(pdf, again);
+        mockMvc.perform(get("/api/reports/tour/{tourId}", testTour.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // A new log changes the version
+        createLog(logRequest(LocalDateTime.of(2024, 5, 2, 10, 0), 6, 20.0, 90, 3));
+        String changed = mockMvc.perform(get("/api/reports/tour/{tourId}", testTour.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, changed);
+
+        mockMvc.perform(get("/api/reports/tour/{tourId}", 999_999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testReportArchive_OneReportPerTourInOrder() throws Exception {
+        Tour second = tourRepository.save(TourFixtures.tour("Graz loop", "Bicycle"));
+        Tour third = tourRepository.save(TourFixtures.tour("Linz loop", "Hiking"));
+        createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5));
+        // Cached for the current version, so the archive reuses it
+        byte[] cached = mockMvc.perform(get("/api/reports/tour/{tourId}", testTour.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MvcResult result = mockMvc.perform(get("/api/reports/tours/archive"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] archive = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                byte[] pdf = zip.readAllBytes();
+                assertTrue(new String(pdf, 0, 4).startsWith("%PDF"));
+                if (names.isEmpty()) {
+                    assertArrayEquals(cached, pdf);
+                }
+                names.add(entry.getName());
+            }
+        }
+        assertEquals(List.of("tour-report-" + testTour.getId() + ".pdf", "tour-report-" + second.getId() + ".pdf",
+                "tour-report-" + third.getId() + ".pdf"), names);
+    }
+
+    @Test
+    void testReportJobs_NotFound() throws Exception {
+        mockMvc.perform(post("/api/reports/tour/{tourId}/jobs", 999_999L))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/reports/jobs/{jobId}", "unknown"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/reports/jobs/{jobId}/result", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String awaitReportJob(String jobId) throws Exception {
+        String status = "";
+        for (int i = 0; i < 250 && !status.equals("DONE") && !status.equals("FAILED"); i++) {
+            Thread.sleep(20);
+            status = objectMapper.readTree(mockMvc.perform(get("/api/reports/jobs/{jobId}", jobId))
+                    .andReturn().getResponse().getContentAsString()).get("status").asText();
+        }
+        return status;
+    }
+}
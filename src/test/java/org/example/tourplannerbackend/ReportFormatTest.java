@@ -0,0 +1,70 @@
+package org.example.tourplannerbackend;
+
+import org.example.tourplannerbackend.report.ReportFormat;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ReportFormat.decimal must print the same digits as String.format with Locale.ROOT, which it replaces in the reports
+ */
+public class ReportFormatTest {
+
+    private static final int[] DECIMALS = {0, 1, 2, 3};
+
+    @Test
+    void testDecimal_RoundsTiesLikeStringFormat() {
+        assertMatchesFormat(0.125, 0.5, 1.5, 2.5, 2.675, 1.005, 0.045, 1.45, 3.14159);
+        assertEquals("0.13", ReportFormat.decimal(0.125, 2));
+        assertEquals("2.68", ReportFormat.decimal(2.675, 2));
+    }
+
+    @Test
+    void testDecimal_Negatives() {
+        assertMatchesFormat(-0.125, -2.675, -1.5, -0.001, -0.0, -12.345, -3.14159);
+        assertEquals("-0.00", ReportFormat.decimal(-0.001, 2));
+    }
+
+    @Test
+    void testDecimal_CarriesIntoHigherDigits() {
+        assertMatchesFormat(9.995, -9.96, 99.95, 0.95, 999.9996, -0.96, 9.5, -99.5);
+        assertEquals("10.00", ReportFormat.decimal(9.995, 2));
+        assertEquals("-10.0", ReportFormat.decimal(-9.96, 1));
+    }
+
+    @Test
+    void testDecimal_ZeroDecimals() {
+        assertMatchesFormat(0.0, 0.4, 0.5, 7.0, 12.49, 12.5, -0.5, -7.5, 123456.5);
+        assertEquals("13", ReportFormat.decimal(12.5, 0));
+    }
+
+    @Test
+    void testDecimal_ExponentForms() {
+        assertMatchesFormat(1e7, -1e7, 1.23456789e7, 1e-4, -1e-4, 5e-3, -5e-3, 1.5e-3, 1e21, Double.MIN_VALUE);
+        assertEquals("10000000.00", ReportFormat.decimal(1e7, 2));
+        assertEquals("-0.00", ReportFormat.decimal(-1e-4, 2));
+    }
+
+    @Test
+    void testDecimal_RandomValues() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(9) - 3);
+            assertMatchesFormat(value);
+            // Values on a three-decimal grid hit the ties
+            assertMatchesFormat(Math.round(value * 1000) / 1000.0);
+        }
+    }
+
+    private static void assertMatchesFormat(double... values) {
+        for (double value : values) {
+            for (int decimals : DECIMALS) {
+                assertEquals(String.format(Locale.ROOT, "%." + decimals + "f", value), ReportFormat.decimal(value, decimals),
+                        () -> value + " with " + decimals + " decimals");
+            }
+        }
+    }
+}
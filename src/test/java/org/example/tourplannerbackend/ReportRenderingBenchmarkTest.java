@@ -0,0 +1,176 @@
+package org.example.tourplannerbackend;
+
+import com.itextpdf.text.DocumentException;
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.entity.TourLog;
+import org.example.tourplannerbackend.report.PdfReportRenderer;
+import org.example.tourplannerbackend.repository.TourSummaryRow;
+import org.example.tourplannerbackend.repository.TourTotals;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * JMH benchmarks of the PDF report layout at 10, 1k and 100k rows: the tour report of a tour with that many logs
+ * and the summary report with that many tours. The data is built in memory, so only rendering is measured.
+ * Prints time and allocated bytes per report and per row.
+ * Excluded from the normal build; run with: mvn test -Pbenchmark -Dtest=ReportRenderingBenchmarkTest
+ * (-Djmh.rows=1000 for a single size)
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class ReportRenderingBenchmarkTest {
+
+    @Param({"10", "1000", "100000"})
+    public int rows;
+
+    private final PdfReportRenderer renderer = new PdfReportRenderer();
+    private Tour tour;
+    private List<TourSummaryRow> summaryRows;
+    private TourTotals totals;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 10, 0);
+        tour = TourFixtures.tour("Benchmark tour", "Vienna", "Graz", "Car", 195.5, 150);
+        tour.setDescription("Scenic route through the Austrian countryside");
+        tour.setCreatedAt(date);
+        summaryRows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            tour.addTourLog(new TourLog(date.plusHours(i), "Log " + i + ": nice weather, some traffic near the city",
+                    1 + i % 10, 50.0 + i % 100 * 0.37, 60 + i % 90, 1 + i % 5));
+            summaryRows.add(new SummaryRow("Benchmark tour " + i, 100.0 + i % 50 * 1.25, 60 + i % 90, i % 20, i % 20 * 3));
+        }
+        totals = new TourTotals() {
+            @Override
+            public Long getTourCount() {
+                return (long) rows;
+            }
+
+            @Override
+            public Double getAverageDistance() {
+                return 130.6;
+            }
+
+            @Override
+            public Double getAverageEstimatedTime() {
+                return 104.5;
+            }
+        };
+    }
+
+    @Benchmark
+    public void tourReport() throws DocumentException {
+        renderer.writeTourReport(tour, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public int summaryReport() throws DocumentException {
+        return renderer.writeSummaryReport(totals, rows, summaryRows.iterator(), OutputStream.nullOutputStream());
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(getClass().getName() + "\\.")
+                .param("rows", System.getProperty("jmh.rows", "10,1000,100000").split(","))
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertFalse(results.isEmpty());
+
+        System.out.printf("%-15s %8s %12s %12s %14s %12s%n", "benchmark", "rows", "ms/report", "us/row", "bytes/report", "bytes/row");
+        for (RunResult result : results) {
+            int rowCount = Integer.parseInt(result.getParams().getParam("rows"));
+            String benchmark = result.getParams().getBenchmark();
+            double millis = result.getPrimaryResult().getScore();
+            Result<?> allocated = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            double bytes = allocated != null ? allocated.getScore() : Double.NaN;
+            System.out.printf("%-15s %8d %12.3f %12.2f %14.0f %12.0f%n",
+                    benchmark.substring(benchmark.lastIndexOf('.') + 1), rowCount,
+                    millis, millis * 1000 / rowCount, bytes, bytes / rowCount);
+        }
+    }
+
+    private static final class SummaryRow implements TourSummaryRow {
+
+        private final String name;
+        private final Double distance;
+        private final Integer estimatedTime;
+        private final Long logCount;
+        private final Long ratingSum;
+
+        SummaryRow(String name, double distance, int estimatedTime, long logCount, long ratingSum) {
+            this.name = name;
+            this.distance = distance;
+            this.estimatedTime = estimatedTime;
+            this.logCount = logCount;
+            this.ratingSum = ratingSum;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getFromLocation() {
+            return "Vienna";
+        }
+
+        @Override
+        public String getToLocation() {
+            return "Graz";
+        }
+
+        @Override
+        public Double getDistance() {
+            return distance;
+        }
+
+        @Override
+        public Integer getEstimatedTime() {
+            return estimatedTime;
+        }
+
+        @Override
+        public Long getLogCount() {
+            return logCount;
+        }
+
+        @Override
+        public Long getRatingSum() {
+            return ratingSum;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.tourplannerbackend;
+
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.entity.TourLog;
+import org.example.tourplannerbackend.repository.TourLogRepository;
+import org.example.tourplannerbackend.repository.TourLogSketchRepository;
+import org.example.tourplannerbackend.repository.TourRepository;
+import org.example.tourplannerbackend.repository.TourSummaryRow;
+import org.example.tourplannerbackend.service.ReportService;
+import org.example.tourplannerbackend.service.TourLogSketchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Renders the summary report for 100k tours into a discarding stream and samples the used heap meanwhile.
+ * The time to only read the report rows is printed as well, to compare data loading with PDF layout.
+ * Excluded from the normal build; run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmarkdb",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+public class SummaryReportBenchmarkTest {
+
+    private static final int TOURS = Integer.getInteger("benchmark.tours", 100_000);
+    private static final int INSERT_BATCH = 1000;
+
+    @Autowired
+    private TourRepository tourRepository;
+
+    @Autowired
+    private TourLogRepository tourLogRepository;
+
+    @Autowired
+    private TourLogSketchRepository sketchRepository;
+
+    @Autowired
+    private TourLogSketchService tourLogSketchService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 10, 0);
+        List<Tour> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < TOURS; i++) {
+            Tour tour = TourFixtures.tour("Benchmark tour " + i, "Vienna", "Graz", "Car", 100.0 + i % 50, 60 + i % 90);
+            tour.addTourLog(new TourLog(date, "Log of tour " + i, 1 + i % 10, 50.0, 60, 1 + i % 5));
+            batch.add(tour);
+            if (batch.size() == INSERT_BATCH) {
+                tourRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        tourRepository.saveAll(batch);
+        // Seeded through the repository, so the sketches the report reads are built afterwards
+        tourLogSketchService.rebuildAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sketchRepository.deleteAllInBatch();
+        tourLogRepository.deleteAllInBatch();
+        tourRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void summaryReportHeapStaysBounded() throws Exception {
+        long loadStart = System.nanoTime();
+        long loaded = transactionTemplate.execute(status -> {
+            try (Stream<TourSummaryRow> rows = tourRepository.streamSummaryRows()) {
+                return rows.count();
+            }
+        });
+        double loadSeconds = (System.nanoTime() - loadStart) / 1e9;
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long baseline = runtime.totalMemory() - runtime.freeMemory();
+
+        AtomicLong peak = new AtomicLong();
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+
+        CountingOutputStream out = new CountingOutputStream();
+        long start = System.nanoTime();
+        reportService.writeSummaryReport(out);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        sampler.interrupt();
+        sampler.join();
+
+        assertTrue(out.count > 0);
+        System.out.printf("%d tours: %.1f MB PDF in %.1f s (reading the rows alone %.2f s), heap baseline %d MB, peak %d MB%n",
+                loaded, out.count / 1e6, seconds, loadSeconds, baseline >> 20, peak.get() >> 20);
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.tourplannerbackend;
+
+import org.example.tourplannerbackend.dto.TourRequestDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for SyncController
+ */
+public class SyncControllerTest extends CommittedIntegrationTest {
+
+    @Test
+    void testSync_ReturnsChangesAndTombstonesSinceToken() throws Exception {
+        String initialToken = syncToken(mockMvc.perform(get("/api/sync"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tours", hasSize(0)))
+                .andExpect(jsonPath("$.hasMore", is(false)))
+                .andReturn());
+
+        long keptLogId = createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 3, 300.0, 200, 4));
+        long deletedLogId = createLog(logRequest(LocalDateTime.of(2024, 5, 2, 10, 0), 3, 300.0, 200, 4));
+        mockMvc.perform(delete("/api/logs/{id}", deletedLogId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(put("/api/tours/{id}", testTour.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TourRequestDto.builder()
+                                .name("Vienna to Salzburg via Linz").fromLocation("Vienna").toLocation("Salzburg")
+                                .transportType("Car").distance(310.0).estimatedTime(200).build())))
+                .andExpect(status().isOk());
+
+        String nextToken = syncToken(mockMvc.perform(get("/api/sync").param("since", initialToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tours[*].name", contains("Vienna to Salzburg via Linz")))
+                .andExpect(jsonPath("$.tours[0].tourLogs").doesNotExist())
+                .andExpect(jsonPath("$.tours[0].tourLogsCount", is(1)))
+                .andExpect(jsonPath("$.tours[0].popularity", is(1)))
+                .andExpect(jsonPath("$.logs[*].id", contains((int) keptLogId)))
+                .andExpect(jsonPath("$.deletedLogIds", contains((int) deletedLogId)))
+                .andExpect(jsonPath("$.deletedTourIds", hasSize(0)))
+                .andReturn());
+
+        // Nothing changed since: empty delta, same token
+        mockMvc.perform(get("/api/sync").param("since", nextToken))
+                .andExpect(jsonPath("$.token", is(nextToken)))
+                .andExpect(jsonPath("$.tours", hasSize(0)))
+                .andExpect(jsonPath("$.logs", hasSize(0)));
+
+        mockMvc.perform(delete("/api/tours/{id}", testTour.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/sync").param("since", nextToken))
+                .andExpect(jsonPath("$.deletedTourIds", contains(testTour.getId().intValue())));
+    }
+
+    @Test
+    void testSync_PagesWithLimit() throws Exception {
+        createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 3, 300.0, 200, 4));
+        createLog(logRequest(LocalDateTime.of(2024, 5, 2, 10, 0), 3, 300.0, 200, 4));
+
+        String token = syncToken(mockMvc.perform(get("/api/sync").param("limit", "1"))
+                .andExpect(jsonPath("$.logs", hasSize(1)))
+                .andExpect(jsonPath("$.hasMore", is(true)))
+                .andReturn());
+        mockMvc.perform(get("/api/sync").param("since", token).param("limit", "1"))
+                .andExpect(jsonPath("$.logs", hasSize(1)))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+
+        mockMvc.perform(get("/api/sync").param("since", "not-a-token"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String syncToken(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+}
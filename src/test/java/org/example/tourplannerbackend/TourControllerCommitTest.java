@@ -0,0 +1,273 @@
+package org.example.tourplannerbackend;
+
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.service.SimilarTourService;
+import org.example.tourplannerbackend.service.TourLogSketchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the TourController endpoints that serve state updated after commit
+ * (log sketches, caches, the similar-tour index); TourControllerTest covers the rest and rolls back instead
+ */
+public class TourControllerCommitTest extends CommittedIntegrationTest {
+
+    @Autowired
+    private TourLogSketchService tourLogSketchService;
+
+    @Autowired
+    private SimilarTourService similarTourService;
+
+    @Test
+    void testGetAllTours_NdjsonStreaming() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tours").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals("Vienna to Salzburg",
+                objectMapper.readTree(body.trim()).get("name").asText());
+    }
+
+    @Test
+    void testDeleteToursBulk_RemovesToursAndLogs() throws Exception {
+        Tour other = tourRepository.save(TourFixtures.tour("Graz loop", "Bicycle"));
+        long logId = createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5));
+        long otherLogId = createLog(other.getId(), logRequest(LocalDateTime.of(2024, 5, 2, 10, 0), 6, 20.0, 90, 3));
+        // Cached before the delete, so stale cache entries would show up below
+        mockMvc.perform(get("/api/logs/{id}", logId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tours/{tourId}/logs/summary", other.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/tours/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(testTour.getId(), other.getId()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(2)))
+                .andExpect(jsonPath("$.items[*].status", everyItem(is("DELETED"))));
+
+        mockMvc.perform(get("/api/tours/{id}", other.getId())).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/logs/{id}", logId)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/logs/{id}", otherLogId)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tours/{tourId}/logs/summary", other.getId())).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tours")).andExpect(jsonPath("$", hasSize(0)));
+        assertEquals(0, sketchRepository.count());
+        assertEquals(0, rollupRepository.count());
+    }
+
+    @Test
+    void testDeleteToursBulk_UnknownIdRejectsAll() throws Exception {
+        createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5));
+
+        mockMvc.perform(delete("/api/tours/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(testTour.getId(), 999_999L))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.items[0].status", is("SKIPPED")))
+                .andExpect(jsonPath("$.items[1].status", is("NOT_FOUND")));
+
+        mockMvc.perform(get("/api/tours/{tourId}/logs", testTour.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    // ==================== STATISTICS SKETCH TESTS ====================
+
+    @Test
+    void testGetTourStatistics_PercentilesAndHistograms() throws Exception {
+        for (int i = 1; i <= 100; i++) {
+            createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0).plusDays(i), 1 + i % 10, i, i, 1 + i % 5));
+        }
+
+        mockMvc.perform(get("/api/tours/{id}/statistics", testTour.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalLogs", is(100)))
+                .andExpect(jsonPath("$.averageTime", is(50.5)))
+                .andExpect(jsonPath("$.timePercentiles.min", is(1.0)))
+                .andExpect(jsonPath("$.timePercentiles.max", is(100.0)))
+                .andExpect(jsonPath("$.timePercentiles.p50", closeTo(50.5, 1.0)))
+                .andExpect(jsonPath("$.timePercentiles.p90", closeTo(90.5, 1.0)))
+                .andExpect(jsonPath("$.distancePercentiles.p99", closeTo(99.5, 1.0)))
+                .andExpect(jsonPath("$.ratingHistogram.1", is(20)))
+                .andExpect(jsonPath("$.ratingHistogram.5", is(20)))
+                .andExpect(jsonPath("$.difficultyHistogram.10", is(10)));
+    }
+
+    @Test
+    void testGetTourStatistics_FollowsUpdatesAndDeletes() throws Exception {
+        long logId = createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5));
+        createLog(logRequest(LocalDateTime.of(2024, 5, 2, 10, 0), 6, 200.0, 120, 3));
+
+        mockMvc.perform(put("/api/logs/{id}", logId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 240, 1))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tours/{id}/statistics", testTour.getId()))
+                .andExpect(jsonPath("$.timePercentiles.max", is(240.0)))
+                .andExpect(jsonPath("$.ratingHistogram.1", is(1)))
+                .andExpect(jsonPath("$.ratingHistogram.5", is(0)));
+
+        mockMvc.perform(delete("/api/logs/{id}", logId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/logs/{id}", createLog(
+                        logRequest(LocalDateTime.of(2024, 5, 3, 10, 0), 2, 10.0, 30, 4))))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/tours/{id}/statistics", testTour.getId()))
+                .andExpect(jsonPath("$.totalLogs", is(1)))
+                .andExpect(jsonPath("$.averageTime", is(120.0)))
+                .andExpect(jsonPath("$.timePercentiles.p50", is(120.0)));
+    }
+
+    @Test
+    void testRebuildSketches_MatchesIncrementalSketches() throws Exception {
+        createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5));
+        createLog(logRequest(LocalDateTime.of(2024, 5, 2, 10, 0), 6, 200.0, 120, 3));
+
+        String incremental = mockMvc.perform(get("/api/tours/{id}/statistics", testTour.getId()))
+                .andReturn().getResponse().getContentAsString();
+
+        tourLogSketchService.rebuildAll();
+
+        mockMvc.perform(get("/api/tours/{id}/statistics", testTour.getId()))
+                .andExpect(content().json(incremental, true));
+    }
+
+    // ==================== TOUR FIELDS / LOG EMBEDDING TESTS ====================
+
+    @Test
+    void testGetTour_LogsOnlyWhenIncluded() throws Exception {
+        createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 2, 300.0, 200, 4));
+        long middleLogId = createLog(logRequest(LocalDateTime.of(2024, 5, 2, 10, 0), 4, 300.0, 200, 4));
+        long newestLogId = createLog(logRequest(LocalDateTime.of(2024, 5, 3, 10, 0), 6, 300.0, 200, 4));
+
+        // Header only: log-derived values without the logs
+        mockMvc.perform(get("/api/tours/{id}", testTour.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Vienna to Salzburg")))
+                .andExpect(jsonPath("$.popularity", is(3)))
+                .andExpect(jsonPath("$.tourLogsCount", is(3)))
+                .andExpect(jsonPath("$.childFriendliness", is(0.0)))
+                .andExpect(jsonPath("$.tourLogs", nullValue()));
+
+        mockMvc.perform(get("/api/tours/{id}", testTour.getId())
+                        .param("include", "logs")
+                        .param("logsLimit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tourLogsCount", is(3)))
+                .andExpect(jsonPath("$.tourLogs[*].id", contains((int) newestLogId, (int) middleLogId)));
+    }
+
+    @Test
+    void testGetTour_SparseFieldset() throws Exception {
+        createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 2, 300.0, 200, 4));
+
+        mockMvc.perform(get("/api/tours/{id}", testTour.getId())
+                        .param("fields", "name,tourLogsCount")
+                        .param("include", "logs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(2)))
+                .andExpect(jsonPath("$.name", is("Vienna to Salzburg")))
+                .andExpect(jsonPath("$.tourLogsCount", is(1)));
+
+        mockMvc.perform(get("/api/tours/{id}", testTour.getId()).param("fields", "name,secret"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tours/{id}", testTour.getId()).param("include", "owner"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tours/{id}", testTour.getId()).param("include", "logs").param("logsLimit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ==================== SEARCH FACET TESTS ====================
+
+    @Test
+    void testSearchFacets_RatingBuckets() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 10, 0);
+        createLog(logRequest(date, 3, 300.0, 200, 5));
+        createLog(logRequest(date, 3, 300.0, 200, 4));
+        Tour poorTour = tourRepository.save(TourFixtures.tour("Rainy ride", "Bicycle"));
+        createLog(poorTour.getId(), logRequest(date, 3, 40.0, 180, 2));
+        tourRepository.save(TourFixtures.tour("Untried route", "Car"));
+
+        mockMvc.perform(get("/api/tours/search/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTours", is(3)))
+                .andExpect(jsonPath("$.ratingBuckets[*].value", contains("1-2", "2-3", "3-4", "4-5", "unrated")))
+                .andExpect(jsonPath("$.ratingBuckets[*].count", contains(0, 1, 0, 1, 1)));
+
+        // Log comments are searched too
+        mockMvc.perform(get("/api/tours/search/facets").param("q", "nice ride"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTours", is(2)))
+                .andExpect(jsonPath("$.ratingBuckets", hasSize(4)));
+    }
+
+    // ==================== SIMILAR TOUR TESTS ====================
+
+    @Test
+    void testGetSimilarTours_RanksByFeatures() throws Exception {
+        Tour closeMatch = tourRepository.save(TourFixtures.tour("Vienna to Linz", "Vienna", "Graz", "Car", 300.0, 190));
+        Tour bikeTour = tourRepository.save(TourFixtures.tour("Danube cycle path", "Vienna", "Graz", "Bicycle", 40.0, 180));
+        // Changes made directly through the repository are picked up by a rebuild
+        similarTourService.rebuild();
+
+        mockMvc.perform(get("/api/tours/{id}/similar", testTour.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].tourId", is(closeMatch.getId().intValue())))
+                .andExpect(jsonPath("$[0].similarity", greaterThan(0.5)))
+                .andExpect(jsonPath("$[1].tourId", is(bikeTour.getId().intValue())));
+
+        // Logs written through the API update the index: the bike tour's log profile now matches, the car tour's does not
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 10, 0);
+        createLog(logRequest(date, 9, 300.0, 200, 1));
+        createLog(bikeTour.getId(), logRequest(date, 9, 40.0, 180, 1));
+        createLog(closeMatch.getId(), logRequest(date, 1, 300.0, 190, 5));
+        // Applied by the scheduled drain; run it now instead of waiting
+        similarTourService.applyPendingChanges();
+
+        mockMvc.perform(get("/api/tours/{id}/similar", testTour.getId()).param("limit", "1"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].tourId", is(bikeTour.getId().intValue())));
+    }
+
+    @Test
+    void testGetSimilarTours_NotFound() throws Exception {
+        mockMvc.perform(get("/api/tours/{id}/similar", 999_999L).header(QueryBudgetConfig.BUDGET_HEADER, "0"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testStreamAllTours_ReadsPopularityFromSketches() throws Exception {
+        Tour other = tourRepository.save(TourFixtures.tour("Graz loop", "Bicycle"));
+        createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 3, 20.0, 90, 4));
+        createLog(logRequest(LocalDateTime.of(2024, 5, 2, 10, 0), 3, 20.0, 90, 4));
+        createLog(other.getId(), logRequest(LocalDateTime.of(2024, 5, 3, 10, 0), 3, 20.0, 90, 4));
+
+        MvcResult result = mockMvc.perform(get("/api/tours").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(2, objectMapper.readTree(lines[0]).get("popularity").asInt());
+        assertEquals(1, objectMapper.readTree(lines[1]).get("popularity").asInt());
+    }
+}
@@ -1,6 +1,9 @@
 package org.example.tourplannerbackend;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.tourplannerbackend.config.WireFormat;
+import org.example.tourplannerbackend.config.WireFormats;
 import org.example.tourplannerbackend.dto.TourRequestDto;
 import org.example.tourplannerbackend.entity.Tour;
 import org.example.tourplannerbackend.repository.TourRepository;
@@ -9,13 +12,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -35,9 +43,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @TestPropertySource(properties = {
         "spring.datasource.url=jdbc:h2:mem:testdb",
         "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
         "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.example.tourplannerbackend.QueryCounter",
+        "tourplanner.test.query-budget=12",
         "logging.level.org.springframework.web=DEBUG"
 })
+@Import(QueryBudgetConfig.class)
 @Transactional
 public class TourControllerTest {
 
@@ -50,6 +62,9 @@ public class TourControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private WireFormats wireFormats;
+
     private Tour testTour;
 
     @BeforeEach
@@ -58,14 +73,7 @@ public class TourControllerTest {
         tourRepository.deleteAll();
 
         // Create test data
-        testTour = new Tour();
-        testTour.setName("Vienna to Salzburg");
-        testTour.setDescription("Beautiful scenic route through Austria");
-        testTour.setFromLocation("Vienna");
-        testTour.setToLocation("Salzburg");
-        testTour.setTransportType("Car");
-        testTour.setDistance(295.0);
-        testTour.setEstimatedTime(180);
+        testTour = TourFixtures.viennaToSalzburg();
         testTour.setRouteImagePath("/images/vienna-salzburg.png");
 
         testTour = tourRepository.save(testTour);
@@ -102,15 +110,7 @@ public class TourControllerTest {
     @Test
     void testGetAllTours_MultipleTours() throws Exception {
         // Add another tour
-        Tour secondTour = new Tour();
-        secondTour.setName("Graz to Linz");
-        secondTour.setDescription("Another scenic route");
-        secondTour.setFromLocation("Graz");
-        secondTour.setToLocation("Linz");
-        secondTour.setTransportType("Bicycle");
-        secondTour.setDistance(150.0);
-        secondTour.setEstimatedTime(480);
-        tourRepository.save(secondTour);
+        tourRepository.save(TourFixtures.tour("Graz to Linz", "Graz", "Linz", "Bicycle", 150.0, 480));
 
         mockMvc.perform(get("/api/tours"))
                 .andExpect(status().isOk())
@@ -154,6 +154,65 @@ public class TourControllerTest {
                 .andExpect(jsonPath("$.timestamp", notNullValue()));
     }
 
+    // ==================== WIRE FORMAT TESTS ====================
+
+    @Test
+    void testGetTourById_Smile() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/tours/{id}", testTour.getId())
+                        .accept(WireFormat.SMILE.getMediaType()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WireFormat.SMILE.getMediaType()))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode tour = wireFormats.reader(WireFormat.SMILE).readTree(body);
+        assertEquals("Vienna to Salzburg", tour.get("name").asText());
+        // Same date format as JSON
+        assertTrue(tour.get("createdAt").isTextual());
+    }
+
+    @Test
+    void testCreateTour_CborRequestAndResponse() throws Exception {
+        TourRequestDto newTour = TourRequestDto.builder()
+                .name("Innsbruck to Klagenfurt")
+                .fromLocation("Innsbruck")
+                .toLocation("Klagenfurt")
+                .transportType("Car")
+                .distance(300.0)
+                .estimatedTime(240)
+                .build();
+
+        byte[] body = mockMvc.perform(post("/api/tours")
+                        .contentType(WireFormat.CBOR.getMediaType())
+                        .accept(WireFormat.CBOR.getMediaType())
+                        .content(wireFormats.writer(WireFormat.CBOR).writeValueAsBytes(newTour)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(WireFormat.CBOR.getMediaType()))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode tour = wireFormats.reader(WireFormat.CBOR).readTree(body);
+        assertEquals("Innsbruck to Klagenfurt", tour.get("name").asText());
+    }
+
+    @Test
+    void testExportAndImport_Smile() throws Exception {
+        byte[] export = mockMvc.perform(get("/api/import-export/export/tours")
+                        .accept(WireFormat.SMILE.getMediaType()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WireFormat.SMILE.getMediaType()))
+                .andExpect(header().string("Content-Disposition", containsString("tours_export.smile")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        mockMvc.perform(multipart("/api/import-export/import/tours")
+                        .file(new MockMultipartFile("file", "tours_export.smile",
+                                WireFormat.SMILE.getMediaType().toString(), export)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(0)));
+
+        mockMvc.perform(get("/api/tours/search").param("q", "Vienna to Salzburg"))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
     // ==================== CREATE TOUR TESTS ====================
 
     @Test
@@ -270,6 +329,39 @@ public class TourControllerTest {
                 .andExpect(jsonPath("$.validationErrors.distance", notNullValue()));
     }
 
+    @Test
+    void testCreateToursBulk_Success() throws Exception {
+        List<TourRequestDto> tours = List.of(
+                TourRequestDto.builder().name("Linz to Graz").fromLocation("Linz").toLocation("Graz")
+                        .transportType("Car").distance(220.0).estimatedTime(150).build(),
+                TourRequestDto.builder().name("Graz to Vienna").fromLocation("Graz").toLocation("Vienna")
+                        .transportType("Bicycle").build());
+
+        mockMvc.perform(post("/api/tours/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tours)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.succeeded", is(2)))
+                .andExpect(jsonPath("$.items[*].status", everyItem(is("CREATED"))));
+
+        mockMvc.perform(get("/api/tours"))
+                .andExpect(jsonPath("$", hasSize(3)));
+    }
+
+    @Test
+    void testCreateToursBulk_ValidationError() throws Exception {
+        List<TourRequestDto> tours = List.of(
+                TourRequestDto.builder().name("").fromLocation("Linz").toLocation("Graz")
+                        .transportType("Car").build());
+
+        mockMvc.perform(post("/api/tours/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tours)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.items[0].status", is("INVALID")))
+                .andExpect(jsonPath("$.items[0].errors.name", containsString("required")));
+    }
+
     // ==================== UPDATE TOUR TESTS ====================
 
     @Test
@@ -375,14 +467,7 @@ public class TourControllerTest {
     @Test
     void testSearchTours_MultipleResults() throws Exception {
         // Add another tour with Vienna
-        Tour anotherTour = new Tour();
-        anotherTour.setName("Vienna to Graz");
-        anotherTour.setFromLocation("Vienna");
-        anotherTour.setToLocation("Graz");
-        anotherTour.setTransportType("Car");
-        anotherTour.setDistance(200.0);
-        anotherTour.setEstimatedTime(120);
-        tourRepository.save(anotherTour);
+        tourRepository.save(TourFixtures.tour("Vienna to Graz", "Vienna", "Graz", "Car", 200.0, 120));
 
         mockMvc.perform(get("/api/tours/search")
                         .param("q", "Vienna"))
@@ -391,6 +476,29 @@ public class TourControllerTest {
                 .andExpect(jsonPath("$[*].name", containsInAnyOrder("Vienna to Salzburg", "Vienna to Graz")));
     }
 
+    @Test
+    void testSearchFacets_CountsPerFacet() throws Exception {
+        tourRepository.save(TourFixtures.tour("Danube Bike Path", "Vienna", "Tulln", "Bike", 42.0, 150));
+        tourRepository.save(TourFixtures.tour("Schneeberg Hike", "Puchberg", "Schneeberg", "Hiking", 8.0, 300));
+
+        mockMvc.perform(get("/api/tours/search/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTours", is(3)))
+                .andExpect(jsonPath("$.transportTypes[*].value", contains("Bike", "Car", "Hiking")))
+                .andExpect(jsonPath("$.distanceRanges[0].value", is("0-10")))
+                .andExpect(jsonPath("$.distanceRanges[*].count", contains(1, 1, 0, 0, 1)))
+                .andExpect(jsonPath("$.durationRanges[*].count", contains(0, 1, 2, 0, 0)))
+                .andExpect(jsonPath("$.ratingBuckets[4].value", is("unrated")))
+                .andExpect(jsonPath("$.ratingBuckets[4].count", is(3)));
+
+        mockMvc.perform(get("/api/tours/search/facets").param("q", "Vienna"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.query", is("Vienna")))
+                .andExpect(jsonPath("$.totalTours", is(2)))
+                .andExpect(jsonPath("$.transportTypes[*].value", contains("Bike", "Car")))
+                .andExpect(jsonPath("$.distanceRanges[*].count", contains(0, 1, 0, 0, 1)));
+    }
+
 
     // ==================== GET TOURS BY TRANSPORT TYPE TESTS ====================
 
@@ -456,6 +564,70 @@ public class TourControllerTest {
     }
 
 
+    // ==================== GEOSPATIAL QUERY TESTS ====================
+
+    @Test
+    void testGetToursNear_RadiusAndOrdering() throws Exception {
+        tourRepository.save(TourFixtures.startingAt("Vienna", 48.2082, 16.3738));
+        tourRepository.save(TourFixtures.startingAt("Schwechat", 48.1400, 16.4700));
+        tourRepository.save(TourFixtures.startingAt("Graz", 47.0707, 15.4395));
+
+        mockMvc.perform(get("/api/tours/near")
+                        .param("lat", "48.2100")
+                        .param("lon", "16.3700")
+                        .param("radiusKm", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].tour.name", is("Vienna")))
+                .andExpect(jsonPath("$[1].tour.name", is("Schwechat")))
+                .andExpect(jsonPath("$[1].distanceKm", lessThan(20.0)));
+
+        mockMvc.perform(get("/api/tours/near")
+                        .param("lat", "48.2100")
+                        .param("lon", "16.3700")
+                        .param("radiusKm", "200")
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].tour.name", is("Graz")));
+    }
+
+    @Test
+    void testGetToursNear_InvalidRadius() throws Exception {
+        mockMvc.perform(get("/api/tours/near")
+                        .param("lat", "48.2")
+                        .param("lon", "16.3")
+                        .param("radiusKm", "-5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+    }
+
+    @Test
+    void testGetToursNear_RadiusWithoutCellCoverNearPole() throws Exception {
+        mockMvc.perform(get("/api/tours/near")
+                        .param("lat", "89.9")
+                        .param("lon", "0")
+                        .param("radiusKm", "2000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("too large at latitude")));
+    }
+
+    @Test
+    void testGetToursInBoundingBox() throws Exception {
+        tourRepository.save(TourFixtures.startingAt("Vienna", 48.2082, 16.3738));
+        tourRepository.save(TourFixtures.startingAt("Graz", 47.0707, 15.4395));
+
+        mockMvc.perform(get("/api/tours/within")
+                        .param("minLat", "47.0")
+                        .param("minLon", "15.0")
+                        .param("maxLat", "47.5")
+                        .param("maxLon", "16.0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Graz")));
+    }
+
     // ==================== CONCURRENT ACCESS TESTS ====================
 
     @Test
@@ -0,0 +1,52 @@
+package org.example.tourplannerbackend;
+
+import org.example.tourplannerbackend.entity.Tour;
+
+/**
+ * Tours used across the tests. Returns unsaved entities, callers save them through their repository
+ */
+public final class TourFixtures {
+
+    private TourFixtures() {
+    }
+
+    /**
+     * The tour every controller test starts with
+     */
+    public static Tour viennaToSalzburg() {
+        Tour tour = tour("Vienna to Salzburg", "Vienna", "Salzburg", "Car", 295.0, 180);
+        tour.setDescription("Beautiful scenic route through Austria");
+        return tour;
+    }
+
+    /**
+     * Vienna to Graz tour without distance or estimated time
+     */
+    public static Tour tour(String name, String transportType) {
+        return tour(name, "Vienna", "Graz", transportType, null, null);
+    }
+
+    public static Tour tour(String name, String fromLocation, String toLocation, String transportType,
+                            Double distance, Integer estimatedTime) {
+        Tour tour = new Tour();
+        tour.setName(name);
+        tour.setFromLocation(fromLocation);
+        tour.setToLocation(toLocation);
+        tour.setTransportType(transportType);
+        tour.setDistance(distance);
+        tour.setEstimatedTime(estimatedTime);
+        return tour;
+    }
+
+    /**
+     * Car tour named after its start, from the given coordinates to Salzburg
+     */
+    public static Tour startingAt(String name, double latitude, double longitude) {
+        Tour tour = tour(name, name, "Salzburg", "Car", 100.0, 60);
+        tour.setFromLatitude(latitude);
+        tour.setFromLongitude(longitude);
+        tour.setToLatitude(47.8095);
+        tour.setToLongitude(13.0550);
+        return tour;
+    }
+}
@@ -0,0 +1,210 @@
+package org.example.tourplannerbackend;
+
+import org.example.tourplannerbackend.dto.BulkUpdateItemDto;
+import org.example.tourplannerbackend.dto.TourLogRequestDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for TourLogController
+ */
+public class TourLogControllerTest extends CommittedIntegrationTest {
+
+    // ==================== TOUR LOG SUMMARY TESTS ====================
+
+    @Test
+    void testGetTourLogSummary_NoLogs() throws Exception {
+        mockMvc.perform(get("/api/tours/{tourId}/logs/summary", testTour.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tourId", is(testTour.getId().intValue())))
+                .andExpect(jsonPath("$.tourName", is("Vienna to Salzburg")))
+                .andExpect(jsonPath("$.totalLogs", is(0)))
+                .andExpect(jsonPath("$.averageRating", is(0.0)))
+                .andExpect(jsonPath("$.firstLogDate", nullValue()))
+                .andExpect(jsonPath("$.lastLogDate", nullValue()));
+    }
+
+    @Test
+    void testGetTourLogSummary_AggregatesLogs() throws Exception {
+        createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5));
+        createLog(logRequest(LocalDateTime.of(2024, 6, 1, 10, 0), 6, 200.0, 120, 3));
+
+        mockMvc.perform(get("/api/tours/{tourId}/logs/summary", testTour.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalLogs", is(2)))
+                .andExpect(jsonPath("$.averageDistance", is(150.0)))
+                .andExpect(jsonPath("$.averageTime", is(90.0)))
+                .andExpect(jsonPath("$.averageRating", is(4.0)))
+                .andExpect(jsonPath("$.averageDifficulty", is(5.0)))
+                .andExpect(jsonPath("$.firstLogDate", startsWith("2024-05-01")))
+                .andExpect(jsonPath("$.lastLogDate", startsWith("2024-06-01")));
+    }
+
+    @Test
+    void testGetTourLogSummary_InvalidatedOnLogWrites() throws Exception {
+        long logId = createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5));
+
+        mockMvc.perform(get("/api/tours/{tourId}/logs/summary", testTour.getId()))
+                .andExpect(jsonPath("$.totalLogs", is(1)))
+                .andExpect(jsonPath("$.averageRating", is(5.0)));
+
+        mockMvc.perform(put("/api/logs/{id}", logId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 1))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tours/{tourId}/logs/summary", testTour.getId()))
+                .andExpect(jsonPath("$.averageRating", is(1.0)));
+
+        mockMvc.perform(delete("/api/logs/{id}", logId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/tours/{tourId}/logs/summary", testTour.getId()))
+                .andExpect(jsonPath("$.totalLogs", is(0)));
+    }
+
+    @Test
+    void testGetTourLogSummary_NotFound() throws Exception {
+        mockMvc.perform(get("/api/tours/{tourId}/logs/summary", 999L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", containsString("Tour not found with ID: 999")));
+    }
+
+    // ==================== RECENT LOGS FEED TESTS ====================
+
+    @Test
+    void testGetRecentTourLogs_KeysetPagination() throws Exception {
+        for (int day = 1; day <= 5; day++) {
+            createLog(logRequest(LocalDateTime.of(2024, 5, day, 10, 0), 5, 10.0 * day, 60, 3));
+        }
+
+        String cursor = mockMvc.perform(get("/api/logs/recent").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].date", startsWith("2024-05-05")))
+                .andExpect(jsonPath("$[1].date", startsWith("2024-05-04")))
+                .andExpect(jsonPath("$[0].tourName", is("Vienna to Salzburg")))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        cursor = mockMvc.perform(get("/api/logs/recent").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].date", startsWith("2024-05-03")))
+                .andExpect(jsonPath("$[1].date", startsWith("2024-05-02")))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/logs/recent").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].date", startsWith("2024-05-01")))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void testGetRecentTourLogs_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/logs/recent").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Invalid feed cursor")));
+    }
+
+    // ==================== NDJSON STREAMING TESTS ====================
+
+    @Test
+    void testSearchTourLogs_NdjsonStreaming() throws Exception {
+        createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5));
+        createLog(logRequest(LocalDateTime.of(2024, 6, 1, 10, 0), 6, 200.0, 120, 3));
+
+        MvcResult result = mockMvc.perform(get("/api/logs/search")
+                        .param("q", "nice")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertEquals("Vienna to Salzburg",
+                    objectMapper.readTree(line).get("tourName").asText());
+        }
+    }
+
+    // ==================== BULK TESTS ====================
+
+    @Test
+    void testCreateTourLogsBulk_Success() throws Exception {
+        List<TourLogRequestDto> requests = List.of(
+                logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5),
+                logRequest(LocalDateTime.of(2024, 5, 2, 10, 0), 6, 200.0, 120, 3));
+
+        mockMvc.perform(post("/api/tours/{tourId}/logs/bulk", testTour.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.succeeded", is(2)))
+                .andExpect(jsonPath("$.items[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.items[1].id", notNullValue()));
+
+        mockMvc.perform(get("/api/tours/{tourId}/logs/summary", testTour.getId()))
+                .andExpect(jsonPath("$.totalLogs", is(2)));
+    }
+
+    @Test
+    void testCreateTourLogsBulk_InvalidItemRejectsAll() throws Exception {
+        List<TourLogRequestDto> requests = List.of(
+                logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5),
+                logRequest(LocalDateTime.of(2024, 5, 2, 10, 0), 6, 200.0, 120, 9));
+
+        mockMvc.perform(post("/api/tours/{tourId}/logs/bulk", testTour.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.items[0].status", is("SKIPPED")))
+                .andExpect(jsonPath("$.items[1].status", is("INVALID")))
+                .andExpect(jsonPath("$.items[1].errors.rating", notNullValue()));
+
+        mockMvc.perform(get("/api/tours/{tourId}/logs", testTour.getId()))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void testUpdateTourLogsBulk() throws Exception {
+        long logId = createLog(logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 5));
+
+        List<BulkUpdateItemDto<TourLogRequestDto>> updates = List.of(
+                new BulkUpdateItemDto<>(logId, logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 2)),
+                new BulkUpdateItemDto<>(999_999L, logRequest(LocalDateTime.of(2024, 5, 1, 10, 0), 4, 100.0, 60, 2)));
+
+        mockMvc.perform(put("/api/logs/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updates)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.items[1].status", is("NOT_FOUND")));
+
+        mockMvc.perform(put("/api/logs/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updates.subList(0, 1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].status", is("UPDATED")));
+
+        mockMvc.perform(get("/api/logs/{id}", logId))
+                .andExpect(jsonPath("$.rating", is(2)));
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.tourplannerbackend;
+
+import org.example.tourplannerbackend.entity.Tour;
+import org.example.tourplannerbackend.service.TourLogRollupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for TrendController and the daily rollups behind it
+ */
+public class TrendControllerTest extends CommittedIntegrationTest {
+
+    @Autowired
+    private TourLogRollupService tourLogRollupService;
+
+    @Test
+    void testGetTourTrends_WeeklyBuckets() throws Exception {
+        createLog(logRequest(LocalDateTime.of(2024, 5, 6, 9, 0), 4, 100.0, 60, 5));  // Monday
+        createLog(logRequest(LocalDateTime.of(2024, 5, 8, 18, 0), 6, 200.0, 120, 3)); // Wednesday, same week
+        createLog(logRequest(LocalDateTime.of(2024, 5, 13, 9, 0), 2, 50.0, 30, 4));  // next Monday
+
+        mockMvc.perform(get("/api/tours/{tourId}/trends", testTour.getId()).param("granularity", "week"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].periodStart", is("2024-05-06")))
+                .andExpect(jsonPath("$[0].logCount", is(2)))
+                .andExpect(jsonPath("$[0].averageDistance", is(150.0)))
+                .andExpect(jsonPath("$[0].averageRating", is(4.0)))
+                .andExpect(jsonPath("$[0].minTime", is(60)))
+                .andExpect(jsonPath("$[0].maxTime", is(120)))
+                .andExpect(jsonPath("$[1].periodStart", is("2024-05-13")))
+                .andExpect(jsonPath("$[1].logCount", is(1)));
+
+        mockMvc.perform(get("/api/tours/{tourId}/trends", testTour.getId())
+                        .param("granularity", "day")
+                        .param("from", "2024-05-07"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].periodStart", is("2024-05-08")));
+    }
+
+    @Test
+    void testGetTourTrends_FollowsUpdatesAndDeletes() throws Exception {
+        long logId = createLog(logRequest(LocalDateTime.of(2024, 5, 6, 9, 0), 4, 100.0, 60, 5));
+        createLog(logRequest(LocalDateTime.of(2024, 5, 6, 12, 0), 4, 300.0, 90, 5));
+
+        mockMvc.perform(put("/api/logs/{id}", logId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                logRequest(LocalDateTime.of(2024, 5, 7, 9, 0), 4, 100.0, 60, 5))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tours/{tourId}/trends", testTour.getId()).param("granularity", "day"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].periodStart", is("2024-05-06")))
+                .andExpect(jsonPath("$[0].logCount", is(1)))
+                .andExpect(jsonPath("$[0].minDistance", is(300.0)))
+                .andExpect(jsonPath("$[1].periodStart", is("2024-05-07")));
+
+        mockMvc.perform(delete("/api/logs/{id}", logId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/tours/{tourId}/trends", testTour.getId()).param("granularity", "day"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].periodStart", is("2024-05-06")));
+    }
+
+    @Test
+    void testRollupsAndSketch_ConcurrentFirstLogsOfADay() throws Exception {
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<Long>> creates = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                int hour = i;
+                creates.add(executor.submit(() ->
+                        createLog(logRequest(LocalDateTime.of(2024, 5, 6, 8 + hour, 0), 4, 10.0 + hour, 60, 5))));
+            }
+            for (Future<Long> create : creates) {
+                create.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        mockMvc.perform(get("/api/tours/{tourId}/trends", testTour.getId()).param("granularity", "day"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].logCount", is(writers)))
+                .andExpect(jsonPath("$[0].minDistance", is(10.0)))
+                .andExpect(jsonPath("$[0].maxDistance", is(17.0)));
+        assertEquals(writers, sketchRepository.findById(testTour.getId()).orElseThrow().getLogCount());
+    }
+
+    @Test
+    void testGetTrends_GlobalByTransportType() throws Exception {
+        Tour bikeTour = tourRepository.save(TourFixtures.tour("Danube cycle path", "Passau", "Vienna", "Bicycle", null, null));
+
+        createLog(logRequest(LocalDateTime.of(2024, 5, 6, 9, 0), 4, 100.0, 60, 5));
+        createLog(bikeTour.getId(), logRequest(LocalDateTime.of(2024, 5, 20, 9, 0), 8, 40.0, 180, 4));
+
+        mockMvc.perform(get("/api/trends").param("granularity", "month"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].periodStart", is("2024-05-01")))
+                .andExpect(jsonPath("$[0].logCount", is(2)))
+                .andExpect(jsonPath("$[0].totalDistance", is(140.0)));
+
+        mockMvc.perform(get("/api/trends").param("granularity", "month").param("transportType", "bicycle"))
+                .andExpect(jsonPath("$[0].logCount", is(1)))
+                .andExpect(jsonPath("$[0].averageDifficulty", is(8.0)));
+    }
+
+    @Test
+    void testRebuildRollups_MatchesIncrementalRollups() throws Exception {
+        createLog(logRequest(LocalDateTime.of(2024, 5, 6, 9, 0), 4, 100.0, 60, 5));
+        createLog(logRequest(LocalDateTime.of(2024, 5, 6, 12, 0), 6, 200.0, 120, 3));
+        createLog(logRequest(LocalDateTime.of(2024, 6, 1, 9, 0), 2, 50.0, 30, 4));
+
+        String incremental = mockMvc.perform(get("/api/trends").param("granularity", "day"))
+                .andReturn().getResponse().getContentAsString();
+
+        tourLogRollupService.rebuildAll();
+
+        mockMvc.perform(get("/api/trends").param("granularity", "day"))
+                .andExpect(content().json(incremental, true));
+        assertEquals(2, rollupRepository.count());
+    }
+
+    @Test
+    void testGetTrends_InvalidGranularity() throws Exception {
+        mockMvc.perform(get("/api/trends").param("granularity", "hour"))
+                .andExpect(status().isBadRequest());
+    }
+}
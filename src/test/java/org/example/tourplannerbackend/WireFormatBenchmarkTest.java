@@ -0,0 +1,122 @@
+package org.example.tourplannerbackend;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.tourplannerbackend.config.WireFormat;
+import org.example.tourplannerbackend.config.WireFormats;
+import org.example.tourplannerbackend.dto.TourLogResponseDto;
+import org.example.tourplannerbackend.dto.TourResponseDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares payload size and encode/decode time of JSON, Smile and CBOR for a tour list with embedded logs.
+ * Excluded from the normal build; run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmarkdb",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+public class WireFormatBenchmarkTest {
+
+    private static final int TOURS = 500;
+    private static final int LOGS_PER_TOUR = 20;
+    private static final int WARM_UP_ROUNDS = 20;
+    private static final int ROUNDS = 50;
+    private static final TypeReference<List<TourResponseDto>> TOUR_LIST = new TypeReference<>() {};
+
+    @Autowired
+    private WireFormats wireFormats;
+
+    @Test
+    void compareWireFormats() throws Exception {
+        List<TourResponseDto> tours = payload();
+
+        for (WireFormat format : WireFormat.values()) {
+            ObjectWriter writer = wireFormats.writer(format).forType(TOUR_LIST);
+            ObjectReader reader = wireFormats.reader(format).forType(TOUR_LIST);
+
+            byte[] encoded = writer.writeValueAsBytes(tours);
+            for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+                reader.readValue(writer.writeValueAsBytes(tours));
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                encoded = writer.writeValueAsBytes(tours);
+            }
+            double encodeMs = (System.nanoTime() - start) / 1e6 / ROUNDS;
+
+            List<TourResponseDto> decoded = null;
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                decoded = reader.readValue(encoded);
+            }
+            double decodeMs = (System.nanoTime() - start) / 1e6 / ROUNDS;
+
+            assertEquals(tours, decoded);
+            System.out.printf("%-5s %8d bytes  encode %6.2f ms  decode %6.2f ms%n",
+                    format, encoded.length, encodeMs, decodeMs);
+        }
+    }
+
+    private List<TourResponseDto> payload() {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 8, 0);
+        List<TourResponseDto> tours = new ArrayList<>(TOURS);
+        for (long t = 1; t <= TOURS; t++) {
+            List<TourLogResponseDto> logs = new ArrayList<>(LOGS_PER_TOUR);
+            for (long l = 1; l <= LOGS_PER_TOUR; l++) {
+                logs.add(TourLogResponseDto.builder()
+                        .id(t * LOGS_PER_TOUR + l)
+                        .date(created.plusDays(l))
+                        .comment("Log " + l + " of tour " + t + ": nice weather, some traffic near the city")
+                        .difficulty((int) (1 + l % 10))
+                        .totalDistance(10.5 * l)
+                        .totalTime((int) (30 + l))
+                        .rating((int) (1 + l % 5))
+                        .createdAt(created)
+                        .updatedAt(created)
+                        .tourId(t)
+                        .tourName("Tour " + t)
+                        .build());
+            }
+            tours.add(TourResponseDto.builder()
+                    .id(t)
+                    .name("Tour " + t)
+                    .description("Scenic route number " + t + " through the Austrian countryside")
+                    .fromLocation("Vienna")
+                    .toLocation("Salzburg")
+                    .transportType(t % 2 == 0 ? "Car" : "Bicycle")
+                    .distance(100.0 + t)
+                    .estimatedTime((int) (60 + t))
+                    .routeImagePath("/images/tour-" + t + ".png")
+                    .fromLatitude(48.2082)
+                    .fromLongitude(16.3738)
+                    .toLatitude(47.8095)
+                    .toLongitude(13.0550)
+                    .createdAt(created)
+                    .updatedAt(created)
+                    .popularity(LOGS_PER_TOUR)
+                    .childFriendliness(4.5)
+                    .tourLogsCount(LOGS_PER_TOUR)
+                    .tourLogs(logs)
+                    .build());
+        }
+        return tours;
+    }
+}